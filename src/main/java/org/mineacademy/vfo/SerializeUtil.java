@@ -1,22 +1,24 @@
 package org.mineacademy.vfo;
 
 import java.awt.Color;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
+import org.mineacademy.vfo.ReflectionUtil.ReflectionException;
 import org.mineacademy.vfo.collection.SerializedMap;
 import org.mineacademy.vfo.collection.StrictCollection;
-import org.mineacademy.vfo.collection.StrictMap;
 import org.mineacademy.vfo.exception.FoException;
 import org.mineacademy.vfo.model.BoxedMessage;
 import org.mineacademy.vfo.model.ConfigSerializable;
@@ -24,6 +26,7 @@ import org.mineacademy.vfo.model.IsInList;
 import org.mineacademy.vfo.model.RangedSimpleTime;
 import org.mineacademy.vfo.model.RangedValue;
 import org.mineacademy.vfo.model.SimpleTime;
+import org.mineacademy.vfo.model.Tuple;
 import org.mineacademy.vfo.remain.CompChatColor;
 import org.mineacademy.vfo.remain.Remain;
 import org.mineacademy.vfo.settings.ConfigSection;
@@ -50,7 +53,29 @@ public final class SerializeUtil {
 	/**
 	 * A list of custom serializers
 	 */
-	private static final Map<Class<Object>, Function<Object, String>> serializers = new HashMap<>();
+	private static final Map<Class<Object>, Function<Object, String>> serializers = new ConcurrentHashMap<>();
+
+	/**
+	 * How to serialize each class, resolved once per class
+	 */
+	private static final ClassValue<Function<Object, Object>> serializerCache = new ClassValue<Function<Object, Object>>() {
+
+		@Override
+		protected Function<Object, Object> computeValue(Class<?> type) {
+			return findSerializer(type);
+		}
+	};
+
+	/**
+	 * How to deserialize each class, resolved once per class
+	 */
+	private static final ClassValue<Deserializer> deserializerCache = new ClassValue<Deserializer>() {
+
+		@Override
+		protected Deserializer computeValue(Class<?> type) {
+			return findDeserializer(type);
+		}
+	};
 
 	/**
 	 * Add a custom serializer to the list
@@ -61,6 +86,18 @@ public final class SerializeUtil {
 	 */
 	public static <T> void addSerializer(Class<T> fromClass, Function<T, String> serializer) {
 		serializers.put((Class<Object>) fromClass, (Function<Object, String>) serializer);
+
+		serializerCache.remove(fromClass);
+	}
+
+	/**
+	 * Return true if a custom serializer was added for exactly the given class
+	 *
+	 * @param type
+	 * @return
+	 */
+	public static boolean hasSerializer(Class<?> type) {
+		return serializers.containsKey(type);
 	}
 
 	// ------------------------------------------------------------------------------------------------------------
@@ -79,114 +116,126 @@ public final class SerializeUtil {
 
 		object = Remain.getRootOfSectionPathData(object);
 
-		if (serializers.containsKey(object.getClass()))
-			return serializers.get(object.getClass()).apply(object);
-
-		if (object instanceof ConfigSerializable)
-			return serialize(((ConfigSerializable) object).serialize().serialize());
+		return serializerCache.get(object.getClass()).apply(object);
+	}
 
-		else if (object instanceof StrictCollection)
-			return serialize(((StrictCollection) object).serialize());
+	/*
+	 * Return how to serialize objects of the given class, checked in the same order
+	 * as we used to check each object
+	 */
+	private static Function<Object, Object> findSerializer(Class<?> type) {
+		final Function<Object, String> custom = serializers.get(type);
 
-		else if (object instanceof CompChatColor)
-			return ((CompChatColor) object).toSaveableString().toUpperCase();
+		if (custom != null)
+			return custom::apply;
 
-		else if (object instanceof NamedTextColor) {
-			final NamedTextColor color = (NamedTextColor) object;
+		if (ConfigSerializable.class.isAssignableFrom(type))
+			return object -> serialize(((ConfigSerializable) object).serialize().serialize());
 
-			return color.toString();
-		}
+		if (StrictCollection.class.isAssignableFrom(type))
+			return object -> serialize(((StrictCollection) object).serialize());
 
-		else if (object instanceof BoxedMessage) {
-			final String message = ((BoxedMessage) object).getMessage();
+		if (CompChatColor.class.isAssignableFrom(type))
+			return object -> ((CompChatColor) object).toSaveableString().toUpperCase();
 
-			return message == null || "".equals(message) || "null".equals(message) ? null : message;
+		if (NamedTextColor.class.isAssignableFrom(type))
+			return Object::toString;
 
-		} else if (object instanceof UUID)
-			return object.toString();
+		if (BoxedMessage.class.isAssignableFrom(type))
+			return object -> {
+				final String message = ((BoxedMessage) object).getMessage();
 
-		else if (object instanceof Enum<?>)
-			return object.toString();
+				return message == null || "".equals(message) || "null".equals(message) ? null : message;
+			};
 
-		else if (object instanceof Player)
-			return ((Player) object).getUsername();
+		if (UUID.class.isAssignableFrom(type) || Enum.class.isAssignableFrom(type))
+			return Object::toString;
 
-		else if (object instanceof SimpleTime)
-			return ((SimpleTime) object).getRaw();
+		if (Player.class.isAssignableFrom(type))
+			return object -> ((Player) object).getUsername();
 
-		else if (object instanceof Color)
-			return "#" + ((Color) object).getRGB();
+		if (SimpleTime.class.isAssignableFrom(type))
+			return object -> ((SimpleTime) object).getRaw();
 
-		else if (object instanceof RangedValue)
-			return ((RangedValue) object).toLine();
+		if (Color.class.isAssignableFrom(type))
+			return object -> "#" + ((Color) object).getRGB();
 
-		else if (object instanceof RangedSimpleTime)
-			return ((RangedSimpleTime) object).toLine();
+		if (RangedValue.class.isAssignableFrom(type))
+			return object -> ((RangedValue) object).toLine();
 
-		else if (object instanceof Component || object instanceof Component[])
-			return JSONComponentSerializer.json().serialize((Component) object);
+		if (RangedSimpleTime.class.isAssignableFrom(type))
+			return object -> ((RangedSimpleTime) object).toLine();
 
-		else if (object instanceof HoverEvent) {
-			final HoverEvent<?> event = (HoverEvent<?>) object;
+		if (Component.class.isAssignableFrom(type) || Component[].class.isAssignableFrom(type))
+			return object -> JSONComponentSerializer.json().serialize((Component) object);
 
-			return SerializedMap.ofArray("Action", event.action().toString(), "Value", event.value().toString()).serialize();
-		}
+		if (HoverEvent.class.isAssignableFrom(type))
+			return object -> {
+				final HoverEvent<?> event = (HoverEvent<?>) object;
 
-		else if (object instanceof ClickEvent) {
-			final ClickEvent event = (ClickEvent) object;
+				return SerializedMap.ofArray("Action", event.action().toString(), "Value", event.value().toString()).serialize();
+			};
 
-			return SerializedMap.ofArray("Action", event.action().toString(), "Value", event.value().toString()).serialize();
-		}
+		if (ClickEvent.class.isAssignableFrom(type))
+			return object -> {
+				final ClickEvent event = (ClickEvent) object;
 
-		else if (object instanceof Path)
-			throw new FoException("Cannot serialize Path " + object + ", did you mean to convert it into a name?");
+				return SerializedMap.ofArray("Action", event.action().toString(), "Value", event.value().toString()).serialize();
+			};
 
-		else if (object instanceof Iterable || object.getClass().isArray() || object instanceof IsInList) {
-			final List<Object> serialized = new ArrayList<>();
+		if (Path.class.isAssignableFrom(type))
+			return object -> {
+				throw new FoException("Cannot serialize Path " + object + ", did you mean to convert it into a name?");
+			};
 
-			if (object instanceof Iterable || object instanceof IsInList)
-				for (final Object element : object instanceof IsInList ? ((IsInList<?>) object).getList() : (Iterable<?>) object)
-					serialized.add(serialize(element));
+		if (IsInList.class.isAssignableFrom(type))
+			return object -> serializeElements(((IsInList<?>) object).getList());
 
-			else
-				for (final Object element : (Object[]) object)
-					serialized.add(serialize(element));
+		if (Iterable.class.isAssignableFrom(type))
+			return object -> serializeElements((Iterable<?>) object);
 
-			return serialized;
+		if (type.isArray())
+			return object -> serializeElements(Arrays.asList((Object[]) object));
 
-		} else if (object instanceof StrictMap) {
-			final StrictMap<Object, Object> oldMap = (StrictMap<Object, Object>) object;
-			final StrictMap<Object, Object> newMap = new StrictMap<>();
+		if (Map.class.isAssignableFrom(type))
+			return object -> {
+				final Map<Object, Object> oldMap = (Map<Object, Object>) object;
+				final Map<Object, Object> newMap = new LinkedHashMap<>();
 
-			for (final Map.Entry<Object, Object> entry : oldMap.entrySet())
-				newMap.put(serialize(entry.getKey()), serialize(entry.getValue()));
+				for (final Map.Entry<Object, Object> entry : oldMap.entrySet())
+					newMap.put(serialize(entry.getKey()), serialize(entry.getValue()));
 
-			return newMap;
+				return newMap;
+			};
 
-		} else if (object instanceof Map) {
-			final Map<Object, Object> oldMap = (Map<Object, Object>) object;
-			final Map<Object, Object> newMap = new LinkedHashMap<>();
+		if (Configuration.class.isAssignableFrom(type))
+			return object -> serialize(Common.getMapFromSection(object));
 
-			for (final Map.Entry<Object, Object> entry : oldMap.entrySet())
-				newMap.put(serialize(entry.getKey()), serialize(entry.getValue()));
+		if (ConfigSection.class.isAssignableFrom(type))
+			return object -> serialize(((ConfigSection) object).getValues(true));
 
-			return newMap;
-		}
+		if (Pattern.class.isAssignableFrom(type))
+			return object -> ((Pattern) object).pattern();
 
-		else if (object instanceof Configuration)
-			return serialize(Common.getMapFromSection(object));
+		if (type == Integer.class || type == Double.class || type == Float.class || type == Long.class || type == Short.class
+				|| type == String.class || type == Boolean.class || type == Character.class)
+			return object -> object;
 
-		else if (object instanceof ConfigSection)
-			return serialize(((ConfigSection) object).getValues(true));
+		return object -> {
+			throw new SerializeFailedException("Does not know how to serialize " + object.getClass().getSimpleName() + "! Does it extends ConfigSerializable? Data: " + object);
+		};
+	}
 
-		else if (object instanceof Pattern)
-			return ((Pattern) object).pattern();
+	/*
+	 * Serialize all elements into a new list
+	 */
+	private static List<Object> serializeElements(Iterable<?> elements) {
+		final List<Object> serialized = new ArrayList<>();
 
-		else if (object instanceof Integer || object instanceof Double || object instanceof Float || object instanceof Long || object instanceof Short
-				|| object instanceof String || object instanceof Boolean || object instanceof Character)
-			return object;
+		for (final Object element : elements)
+			serialized.add(serialize(element));
 
-		throw new SerializeFailedException("Does not know how to serialize " + object.getClass().getSimpleName() + "! Does it extends ConfigSerializable? Data: " + object);
+		return serialized;
 	}
 
 	// ------------------------------------------------------------------------------------------------------------
@@ -217,127 +266,176 @@ public final class SerializeUtil {
 	 * @param parameters
 	 * @return
 	 */
-	@SuppressWarnings("rawtypes")
 	public static <T> T deserialize(@NonNull final Class<T> classOf, @NonNull Object object, final Object... parameters) {
+		return (T) deserializerCache.get(classOf).deserialize(object, parameters);
+	}
+
+	/*
+	 * Return how to deserialize the given class, checked in the same order as we used to on each call
+	 */
+	@SuppressWarnings("rawtypes")
+	private static Deserializer findDeserializer(Class<?> classOf) {
 		if (classOf == String.class)
-			object = object.toString();
+			return (object, parameters) -> object.toString();
 
-		else if (classOf == Integer.class)
-			object = Integer.parseInt(object.toString());
+		if (classOf == Integer.class)
+			return (object, parameters) -> Integer.parseInt(object.toString());
 
-		else if (classOf == Long.class)
-			object = Long.decode(object.toString());
+		if (classOf == Long.class)
+			return (object, parameters) -> Long.decode(object.toString());
 
-		else if (classOf == Double.class)
-			object = Double.parseDouble(object.toString());
+		if (classOf == Double.class)
+			return (object, parameters) -> Double.parseDouble(object.toString());
 
-		else if (classOf == Float.class)
-			object = Float.parseFloat(object.toString());
+		if (classOf == Float.class)
+			return (object, parameters) -> Float.parseFloat(object.toString());
 
-		else if (classOf == Boolean.class)
-			object = Boolean.parseBoolean(object.toString());
+		if (classOf == Boolean.class)
+			return (object, parameters) -> Boolean.parseBoolean(object.toString());
 
-		else if (classOf == SerializedMap.class)
-			object = SerializedMap.of(object);
+		if (classOf == SerializedMap.class)
+			return (object, parameters) -> SerializedMap.of(object);
 
-		else if (classOf == BoxedMessage.class)
-			object = new BoxedMessage(object.toString());
+		if (classOf == BoxedMessage.class)
+			return (object, parameters) -> new BoxedMessage(object.toString());
 
-		else if (classOf == SimpleTime.class)
-			object = SimpleTime.from(object.toString());
+		if (classOf == SimpleTime.class)
+			return (object, parameters) -> SimpleTime.from(object.toString());
 
-		else if (classOf == RangedValue.class)
-			object = RangedValue.parse(object.toString());
+		if (classOf == RangedValue.class)
+			return (object, parameters) -> RangedValue.parse(object.toString());
 
-		else if (classOf == RangedSimpleTime.class)
-			object = RangedSimpleTime.parse(object.toString());
+		if (classOf == RangedSimpleTime.class)
+			return (object, parameters) -> RangedSimpleTime.parse(object.toString());
 
-		else if (classOf == CompChatColor.class)
-			object = CompChatColor.of(object.toString());
+		if (classOf == CompChatColor.class)
+			return (object, parameters) -> CompChatColor.of(object.toString());
 
-		else if (classOf == UUID.class)
-			object = UUID.fromString(object.toString());
+		if (classOf == UUID.class)
+			return (object, parameters) -> UUID.fromString(object.toString());
 
-		else if (classOf == Component.class || classOf == Component[].class || classOf == TextComponent.class || classOf == TextComponent[].class)
-			object = JSONComponentSerializer.json().deserialize(object.toString());
+		if (classOf == Component.class || classOf == Component[].class || classOf == TextComponent.class || classOf == TextComponent[].class)
+			return (object, parameters) -> JSONComponentSerializer.json().deserialize(object.toString());
 
-		else if (classOf == HoverEvent.class) {
-			/*final SerializedMap serialized = SerializedMap.of(object);
-			final HoverEvent.Action action = serialized.get("Action", HoverEvent.Action.class);
-			final BaseComponent[] value = serialized.get("Value", BaseComponent[].class);
+		if (classOf == HoverEvent.class)
+			return (object, parameters) -> {
+				throw new RuntimeException("Deserializing hover events is yet unsupported");
+			};
 
-			object = new HoverEvent(action, value);*/
-			throw new RuntimeException("Deserializing hover events is yet unsupported");
-		}
+		if (classOf == ClickEvent.class)
+			return (object, parameters) -> {
+				throw new RuntimeException("Deserializing click events is yet unsupported");
+			};
 
-		else if (classOf == ClickEvent.class) {
-			/*final SerializedMap serialized = SerializedMap.of(object);
+		if (Enum.class.isAssignableFrom(classOf))
+			return (object, parameters) -> ReflectionUtil.lookupEnum((Class<Enum>) classOf, object.toString());
 
-			final ClickEvent.Action action = serialized.get("Action", ClickEvent.Action.class);
-			final String value = serialized.getString("Value");
+		if (Color.class.isAssignableFrom(classOf))
+			return (object, parameters) -> CompChatColor.of(object.toString()).getColor();
 
-			object = new ClickEvent(action, value);*/
+		final Deserializer remaining = findObjectDeserializer(classOf);
 
-			throw new RuntimeException("Deserializing click events is yet unsupported");
-		}
+		if (List.class.isAssignableFrom(classOf))
+			return (object, parameters) -> object instanceof List ? object : remaining.deserialize(object, parameters);
 
-		else if (Enum.class.isAssignableFrom(classOf)) {
-			object = ReflectionUtil.lookupEnum((Class<Enum>) classOf, object.toString());
+		return remaining;
+	}
 
-			if (object == null)
-				return null;
-		}
+	/*
+	 * Return how to deserialize maps, arrays, our own classes and classes with a getByName method
+	 */
+	private static Deserializer findObjectDeserializer(Class<?> classOf) {
+		if (Map.class.isAssignableFrom(classOf))
+			return (object, parameters) -> {
+				if (object instanceof Map)
+					return object;
 
-		else if (Color.class.isAssignableFrom(classOf))
-			object = CompChatColor.of(object.toString()).getColor();
+				if (object instanceof Configuration)
+					return Common.getMapFromSection(object);
 
-		else if (List.class.isAssignableFrom(classOf) && object instanceof List) {
-			// Good
+				if (object instanceof ConfigSection)
+					return ((ConfigSection) object).getValues(false);
 
-		} else if (Map.class.isAssignableFrom(classOf)) {
-			if (object instanceof Map)
-				return (T) object;
+				throw new SerializeFailedException("Does not know how to turn " + object.getClass().getSimpleName() + " into a Map! (Keep in mind we can only serialize into Map<Object/String, Object> Data: " + object);
+			};
 
-			if (object instanceof Configuration)
-				return (T) Common.getMapFromSection(object);
+		if (classOf.isArray())
+			return (object, parameters) -> {
+				final Class<?> arrayType = classOf.getComponentType();
+				final List<?> elements = object instanceof List ? (List<?>) object : Arrays.asList((Object[]) object);
+				final Object[] array = (Object[]) Array.newInstance(arrayType, elements.size());
 
-			if (object instanceof ConfigSection)
-				return (T) ((ConfigSection) object).getValues(false);
+				for (int i = 0; i < array.length; i++) {
+					final Object element = elements.get(i);
 
-			throw new SerializeFailedException("Does not know how to turn " + object.getClass().getSimpleName() + " into a Map! (Keep in mind we can only serialize into Map<Object/String, Object> Data: " + object);
+					array[i] = element == null ? null : deserialize(arrayType, element, (Object[]) null);
+				}
 
-		} else if (classOf.isArray()) {
-			final Class<?> arrayType = classOf.getComponentType();
-			T[] array;
+				return array;
+			};
 
-			if (object instanceof List) {
-				final List<?> rawList = (List<?>) object;
-				array = (T[]) Array.newInstance(classOf.getComponentType(), rawList.size());
+		// Try to call our own serializers
+		if (ConfigSerializable.class.isAssignableFrom(classOf))
+			return new ConfigSerializableDeserializer(classOf);
 
-				for (int i = 0; i < rawList.size(); i++) {
-					final Object element = rawList.get(i);
+		// Step 3 - Search for "getByName" method used by us or some Bukkit classes such as Enchantment
+		final Method getByName = ReflectionUtil.getMethod(classOf, "getByName", String.class);
+		final MethodHandle getByNameHandle = getByName != null ? ConfigSerializableDeserializer.toHandle(getByName) : null;
 
-					array[i] = element == null ? null : (T) deserialize(arrayType, element, (Object[]) null);
-				}
+		return (object, parameters) -> {
+			if (object instanceof String) {
+				if (getByNameHandle != null)
+					return ConfigSerializableDeserializer.invoke(getByName, getByNameHandle, object);
 			}
 
-			else {
-				final Object[] rawArray = (Object[]) object;
-				array = (T[]) Array.newInstance(classOf.getComponentType(), rawArray.length);
+			else if (classOf != Object.class)
+				throw new SerializeFailedException("Does not know how to turn " + classOf + " into a serialized object from data: " + object);
 
-				for (int i = 0; i < array.length; i++)
-					array[i] = rawArray[i] == null ? null : (T) deserialize(classOf.getComponentType(), rawArray[i], (Object[]) null);
-			}
+			return object;
+		};
+	}
 
-			return (T) array;
+	/*
+	 * Converts stored data into an object of one class
+	 */
+	@FunctionalInterface
+	private interface Deserializer {
+		Object deserialize(Object object, Object[] parameters);
+	}
 
+	/*
+	 * Calls the static deserialize(SerializedMap) method of a class, or deserialize(SerializedMap, X arg1, Y arg2, etc.)
+	 * when parameters are given, keeping method handles for each set of parameter types
+	 */
+	private static final class ConfigSerializableDeserializer implements Deserializer {
+
+		/*
+		 * The class we deserialize
+		 */
+		private final Class<?> classOf;
+
+		/*
+		 * The deserialize(SerializedMap) method and its handle, null if missing
+		 */
+		private final Method method;
+		private final MethodHandle handle;
+
+		/*
+		 * Handles for deserialize methods taking parameters, by their parameter classes
+		 */
+		private final Map<List<Class<?>>, Tuple<Method, MethodHandle>> parameterHandles = new ConcurrentHashMap<>();
+
+		private ConfigSerializableDeserializer(Class<?> classOf) {
+			this.classOf = classOf;
+			this.method = ReflectionUtil.getMethod(classOf, "deserialize", SerializedMap.class);
+			this.handle = this.method != null ? toHandle(this.method) : null;
 		}
 
-		// Try to call our own serializers
-		else if (ConfigSerializable.class.isAssignableFrom(classOf)) {
+		@Override
+		public Object deserialize(Object object, Object[] parameters) {
 			if (parameters != null && parameters.length > 0) {
 				final List<Class<?>> argumentClasses = new ArrayList<>();
-				final List<Object> arguments = new ArrayList<>();
+				final Object[] arguments = new Object[parameters.length + 1];
 
 				// Build parameters
 				argumentClasses.add(SerializedMap.class);
@@ -345,46 +443,54 @@ public final class SerializeUtil {
 					argumentClasses.add(param.getClass());
 
 				// Build parameter instances
-				arguments.add(SerializedMap.of(object));
-				Collections.addAll(arguments, parameters);
+				arguments[0] = SerializedMap.of(object);
+				System.arraycopy(parameters, 0, arguments, 1, parameters.length);
 
 				// Find deserialize(SerializedMap, args[]) method
-				final Method deserialize = ReflectionUtil.getMethod(classOf, "deserialize", argumentClasses.toArray(new Class[argumentClasses.size()]));
+				final Tuple<Method, MethodHandle> deserialize = this.parameterHandles.computeIfAbsent(argumentClasses, classes -> {
+					final Method method = ReflectionUtil.getMethod(this.classOf, "deserialize", classes.toArray(new Class[classes.size()]));
 
-				Valid.checkNotNull(deserialize,
-						"Expected " + classOf.getSimpleName() + " to have a public static deserialize(SerializedMap, " + Common.join(argumentClasses) + ") method to deserialize: " + object + " when params were given: " + Common.join(parameters));
+					return method != null ? new Tuple<>(method, toHandle(method)) : null;
+				});
 
-				Valid.checkBoolean(argumentClasses.size() == arguments.size(),
-						classOf.getSimpleName() + "#deserialize(SerializedMap, " + argumentClasses.size() + " args) expected, " + arguments.size() + " given to deserialize: " + object);
+				Valid.checkNotNull(deserialize,
+						"Expected " + this.classOf.getSimpleName() + " to have a public static deserialize(SerializedMap, " + Common.join(argumentClasses) + ") method to deserialize: " + object + " when params were given: " + Common.join(parameters));
 
-				return ReflectionUtil.invokeStatic(deserialize, arguments.toArray());
+				return invoke(deserialize.getKey(), deserialize.getValue(), arguments);
 			}
 
-			final Method deserialize = ReflectionUtil.getMethod(classOf, "deserialize", SerializedMap.class);
-
-			if (deserialize != null)
-				return ReflectionUtil.invokeStatic(deserialize, SerializedMap.of(object));
+			if (this.handle != null)
+				return invoke(this.method, this.handle, SerializedMap.of(object));
 
-			throw new SerializeFailedException("Unable to deserialize " + classOf.getSimpleName()
+			throw new SerializeFailedException("Unable to deserialize " + this.classOf.getSimpleName()
 					+ ", please write 'public static deserialize(SerializedMap map) or deserialize(SerializedMap map, X arg1, Y arg2, etc.) method to deserialize: " + object);
 		}
 
-		// Step 3 - Search for "getByName" method used by us or some Bukkit classes such as Enchantment
-		else if (object instanceof String) {
-			final Method method = ReflectionUtil.getMethod(classOf, "getByName", String.class);
+		/*
+		 * Return a handle for the static method taking its parameters as an array and returning an Object
+		 */
+		private static MethodHandle toHandle(Method method) {
+			try {
+				final MethodHandle handle = MethodHandles.lookup().unreflect(method);
 
-			if (method != null)
-				return ReflectionUtil.invokeStatic(method, object);
-		}
+				return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
 
-		else if (classOf == Object.class) {
-			// Good
+			} catch (final IllegalAccessException ex) {
+				throw new ReflectionException(ex, "Could not access static method " + method);
+			}
 		}
 
-		else
-			throw new SerializeFailedException("Does not know how to turn " + classOf + " into a serialized object from data: " + object);
+		/*
+		 * Invoke the handle created by toHandle() wrapping any error the same as ReflectionUtil#invokeStatic
+		 */
+		private static Object invoke(Method method, MethodHandle handle, Object... arguments) {
+			try {
+				return (Object) handle.invokeExact(arguments);
 
-		return (T) object;
+			} catch (final Throwable t) {
+				throw new ReflectionException(t, "Could not invoke static method " + method + " with params " + Common.join(arguments, ", ", Common::simplify));
+			}
+		}
 	}
 
 	/**
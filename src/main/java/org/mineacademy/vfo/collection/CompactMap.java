@@ -0,0 +1,291 @@
+package org.mineacademy.vfo.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A map keeping its values in one array, with keys and their order held by a {@link KeySchema}
+ * shared with other maps that have the same keys, used by {@link SerializedMap#compact()}.
+ * <p>
+ * Behaves like a {@link LinkedHashMap} in insertion order. When keys keep changing
+ * so that sharing does not pay off, the values are moved into a regular map instead.
+ */
+final class CompactMap extends AbstractMap<String, Object> {
+
+	/**
+	 * The values of an empty map
+	 */
+	private static final Object[] NO_VALUES = new Object[0];
+
+	/**
+	 * The keys, unused once we fell back to a regular map
+	 */
+	private KeySchema schema = KeySchema.EMPTY;
+
+	/**
+	 * The values in the same order as the keys in the schema
+	 */
+	private Object[] values = NO_VALUES;
+
+	/**
+	 * The regular map we fell back to, null while compact
+	 */
+	private Map<String, Object> fallback;
+
+	/**
+	 * Incremented when keys are added or removed to detect changes while iterating
+	 */
+	private int modCount;
+
+	/**
+	 * The entry set view
+	 */
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	/**
+	 * Create a compact copy of the given map
+	 *
+	 * @param copyOf
+	 * @return
+	 */
+	static CompactMap copyOf(Map<String, Object> copyOf) {
+		final CompactMap map = new CompactMap();
+		KeySchema schema = KeySchema.EMPTY;
+
+		for (final String key : copyOf.keySet())
+			if ((schema = schema.with(key)) == null)
+				break;
+
+		if (schema == null) {
+			map.fallback = new LinkedHashMap<>(copyOf);
+
+			return map;
+		}
+
+		final Object[] values = new Object[schema.size()];
+		int slot = 0;
+
+		for (final Object value : copyOf.values())
+			values[slot++] = value;
+
+		map.schema = schema;
+		map.values = values;
+
+		return map;
+	}
+
+	@Override
+	public int size() {
+		return this.fallback != null ? this.fallback.size() : this.schema.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.fallback != null ? this.fallback.containsKey(key) : this.schema.slotOf(key) != -1;
+	}
+
+	@Override
+	public Object get(Object key) {
+		if (this.fallback != null)
+			return this.fallback.get(key);
+
+		final int slot = this.schema.slotOf(key);
+
+		return slot != -1 ? this.values[slot] : null;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		if (this.fallback != null)
+			return this.fallback.put(key, value);
+
+		final int slot = this.schema.slotOf(key);
+
+		if (slot != -1) {
+			final Object oldValue = this.values[slot];
+			this.values[slot] = value;
+
+			return oldValue;
+		}
+
+		final KeySchema nextSchema = this.schema.with(key);
+
+		if (nextSchema == null) {
+			this.fallBack();
+
+			return this.fallback.put(key, value);
+		}
+
+		this.values = Arrays.copyOf(this.values, this.values.length + 1);
+		this.values[this.values.length - 1] = value;
+		this.schema = nextSchema;
+		this.modCount++;
+
+		return null;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		if (this.fallback != null)
+			return this.fallback.remove(key);
+
+		final int slot = this.schema.slotOf(key);
+
+		if (slot == -1)
+			return null;
+
+		final Object oldValue = this.values[slot];
+		final Object[] nextValues = new Object[this.values.length - 1];
+
+		System.arraycopy(this.values, 0, nextValues, 0, slot);
+		System.arraycopy(this.values, slot + 1, nextValues, slot, nextValues.length - slot);
+
+		this.values = nextValues;
+		this.schema = this.schema.without(slot);
+		this.modCount++;
+
+		return oldValue;
+	}
+
+	@Override
+	public void clear() {
+		this.schema = KeySchema.EMPTY;
+		this.values = NO_VALUES;
+		this.fallback = null;
+		this.modCount++;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (this.entrySet == null)
+			this.entrySet = new EntrySet();
+
+		return this.entrySet;
+	}
+
+	/*
+	 * Move all values into a regular map
+	 */
+	private void fallBack() {
+		final Map<String, Object> map = new LinkedHashMap<>();
+
+		for (int slot = 0; slot < this.values.length; slot++)
+			map.put(this.schema.keyAt(slot), this.values[slot]);
+
+		this.fallback = map;
+		this.schema = KeySchema.EMPTY;
+		this.values = NO_VALUES;
+		this.modCount++;
+	}
+
+	/*
+	 * The entries in our map, reading from the regular map if we fell back to it
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return CompactMap.this.size();
+		}
+
+		@Override
+		public void clear() {
+			CompactMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return CompactMap.this.fallback != null ? CompactMap.this.fallback.entrySet().iterator() : new EntryIterator();
+		}
+	}
+
+	/*
+	 * Iterates over slots of the compact map
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+		/*
+		 * The slot of the next entry and of the last returned entry
+		 */
+		private int next, last = -1;
+
+		/*
+		 * The modCount we expect, changed when removing through this iterator
+		 */
+		private int expectedModCount = CompactMap.this.modCount;
+
+		@Override
+		public boolean hasNext() {
+			return this.next < CompactMap.this.size();
+		}
+
+		@Override
+		public Map.Entry<String, Object> next() {
+			this.checkModCount();
+
+			if (this.next >= CompactMap.this.schema.size())
+				throw new NoSuchElementException();
+
+			this.last = this.next++;
+
+			return new Entry(this.last);
+		}
+
+		@Override
+		public void remove() {
+			if (this.last == -1)
+				throw new IllegalStateException();
+
+			this.checkModCount();
+
+			CompactMap.this.remove(CompactMap.this.schema.keyAt(this.last));
+
+			this.next = this.last;
+			this.last = -1;
+			this.expectedModCount = CompactMap.this.modCount;
+		}
+
+		private void checkModCount() {
+			if (this.expectedModCount != CompactMap.this.modCount)
+				throw new ConcurrentModificationException();
+		}
+	}
+
+	/*
+	 * An entry writing its value back into the map
+	 */
+	private final class Entry extends SimpleEntry<String, Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		/*
+		 * The slot and the schema at the time the entry was created
+		 */
+		private final int slot;
+		private final KeySchema entrySchema;
+
+		private Entry(int slot) {
+			super(CompactMap.this.schema.keyAt(slot), CompactMap.this.values[slot]);
+
+			this.slot = slot;
+			this.entrySchema = CompactMap.this.schema;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			if (CompactMap.this.fallback == null && CompactMap.this.schema == this.entrySchema)
+				CompactMap.this.values[this.slot] = value;
+			else
+				CompactMap.this.put(this.getKey(), value);
+
+			return super.setValue(value);
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package org.mineacademy.vfo.collection;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.mineacademy.vfo.SerializeUtil;
+import org.mineacademy.vfo.model.ConfigSerializable;
+import org.mineacademy.vfo.model.IsInList;
+import org.mineacademy.vfo.remain.Remain;
+
+/**
+ * Writes a {@link SerializedMap} as JSON directly to an {@link Appendable}, walking maps
+ * and lists in place instead of copying them through {@link SerializeUtil#serialize(Object)} first.
+ * <p>
+ * The output is the same as Gson gave us before: HTML characters are escaped, longs are
+ * written as strings and keys with null values are left out. Values we do not know are
+ * still converted by {@link SerializeUtil} and the result written.
+ */
+final class JsonAppender {
+
+	/**
+	 * Builders larger than this are not kept for the next call
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	/**
+	 * The builder reused by {@link #toJson(SerializedMap)}, null while in use
+	 */
+	private static final ThreadLocal<StringBuilder> builders = new ThreadLocal<>();
+
+	/**
+	 * Escape sequences for characters below 128, null if the character is written as is
+	 */
+	private static final String[] replacements = new String[128];
+
+	/**
+	 * Writers for final value types, by their exact class
+	 */
+	private static final Map<Class<?>, ValueWriter> valueWriters = new IdentityHashMap<>();
+
+	static {
+		for (int i = 0; i < 0x20; i++)
+			replacements[i] = String.format("\\u%04x", i);
+
+		replacements['"'] = "\\\"";
+		replacements['\\'] = "\\\\";
+		replacements['\t'] = "\\t";
+		replacements['\b'] = "\\b";
+		replacements['\n'] = "\\n";
+		replacements['\r'] = "\\r";
+		replacements['\f'] = "\\f";
+		replacements['<'] = "\\u003c";
+		replacements['>'] = "\\u003e";
+		replacements['&'] = "\\u0026";
+		replacements['='] = "\\u003d";
+		replacements['\''] = "\\u0027";
+
+		valueWriters.put(String.class, (out, value) -> writeString(out, (String) value));
+		valueWriters.put(Boolean.class, (out, value) -> out.append(value.toString()));
+		valueWriters.put(Integer.class, (out, value) -> out.append(value.toString()));
+		valueWriters.put(Short.class, (out, value) -> out.append(value.toString()));
+		valueWriters.put(Long.class, (out, value) -> writeString(out, value.toString()));
+		valueWriters.put(Character.class, (out, value) -> writeString(out, value.toString()));
+		valueWriters.put(Double.class, (out, value) -> writeDecimal(out, (Double) value));
+		valueWriters.put(Float.class, (out, value) -> writeDecimal(out, (Float) value));
+	}
+
+	private JsonAppender() {
+	}
+
+	/**
+	 * Return the given map as JSON, using a builder reused on this thread
+	 *
+	 * @param map
+	 * @return
+	 * @throws IOException never since we write to a string
+	 */
+	static String toJson(SerializedMap map) throws IOException {
+		StringBuilder builder = builders.get();
+
+		// Taking the builder away keeps it safe if a serializer converts another map to JSON meanwhile
+		if (builder == null)
+			builder = new StringBuilder(256);
+		else
+			builders.set(null);
+
+		try {
+			write(builder, map);
+
+			return builder.toString();
+
+		} finally {
+			if (builder.capacity() <= MAX_RETAINED_CAPACITY) {
+				builder.setLength(0);
+
+				builders.set(builder);
+			}
+		}
+	}
+
+	/**
+	 * Write the given map as JSON to the output
+	 *
+	 * @param out
+	 * @param map
+	 * @throws IOException
+	 */
+	static void write(Appendable out, SerializedMap map) throws IOException {
+		writeObject(out, map.entrySet());
+	}
+
+	/*
+	 * Return the value itself if we can write it, otherwise convert it using SerializeUtil
+	 */
+	private static Object resolve(Object value) {
+		if (value == null)
+			return null;
+
+		value = Remain.getRootOfSectionPathData(value);
+
+		final Class<?> type = value.getClass();
+
+		if (SerializeUtil.hasSerializer(type))
+			return SerializeUtil.serialize(value);
+
+		if (valueWriters.containsKey(type) || value instanceof SerializedMap || value instanceof StrictMap || value instanceof StrictList || value instanceof StrictSet)
+			return value;
+
+		if (value instanceof ConfigSerializable)
+			return ((ConfigSerializable) value).serialize();
+
+		if (value instanceof Collection || value instanceof Map || value instanceof IsInList || value instanceof Object[])
+			return value;
+
+		return SerializeUtil.serialize(value);
+	}
+
+	/*
+	 * Write the given value already returned from resolve()
+	 */
+	private static void writeResolved(Appendable out, Object value) throws IOException {
+		if (value == null) {
+			out.append("null");
+
+			return;
+		}
+
+		final ValueWriter writer = valueWriters.get(value.getClass());
+
+		if (writer != null)
+			writer.write(out, value);
+
+		else if (value instanceof SerializedMap)
+			writeObject(out, ((SerializedMap) value).entrySet());
+
+		else if (value instanceof StrictMap)
+			writeObject(out, ((StrictMap<?, ?>) value).entrySet());
+
+		else if (value instanceof Map)
+			writeObject(out, ((Map<?, ?>) value).entrySet());
+
+		else if (value instanceof StrictList)
+			writeArray(out, ((StrictList<?>) value).getSource());
+
+		else if (value instanceof StrictSet)
+			writeArray(out, ((StrictSet<?>) value).getSource());
+
+		else if (value instanceof IsInList)
+			writeArray(out, ((IsInList<?>) value).getList());
+
+		else if (value instanceof Object[])
+			writeArray(out, Arrays.asList((Object[]) value));
+
+		else if (value instanceof Collection)
+			writeArray(out, (Collection<?>) value);
+
+		else
+			throw new JsonWriteException("Cannot write " + value.getClass().getSimpleName() + " to JSON: " + value);
+	}
+
+	/*
+	 * Write the entries as a JSON object, leaving out null values
+	 */
+	private static void writeObject(Appendable out, Iterable<? extends Map.Entry<?, ?>> entries) throws IOException {
+		boolean first = true;
+
+		out.append('{');
+
+		for (final Map.Entry<?, ?> entry : entries) {
+			final Object value = resolve(entry.getValue());
+
+			if (value == null)
+				continue;
+
+			if (!first)
+				out.append(',');
+
+			first = false;
+
+			final Object key = entry.getKey();
+
+			writeString(out, String.valueOf(key == null || valueWriters.containsKey(key.getClass()) && !SerializeUtil.hasSerializer(key.getClass()) ? key : SerializeUtil.serialize(key)));
+			out.append(':');
+			writeResolved(out, value);
+		}
+
+		out.append('}');
+	}
+
+	/*
+	 * Write the elements as a JSON array
+	 */
+	private static void writeArray(Appendable out, Iterable<?> elements) throws IOException {
+		boolean first = true;
+
+		out.append('[');
+
+		for (final Object element : elements) {
+			if (!first)
+				out.append(',');
+
+			first = false;
+
+			writeResolved(out, resolve(element));
+		}
+
+		out.append(']');
+	}
+
+	/*
+	 * Write a floating point number, which JSON cannot hold if it is not finite
+	 */
+	private static void writeDecimal(Appendable out, Number value) throws IOException {
+		final double decimal = value.doubleValue();
+
+		if (Double.isNaN(decimal) || Double.isInfinite(decimal))
+			throw new JsonWriteException(value + " is not a valid double value as per JSON specification");
+
+		out.append(value.toString());
+	}
+
+	/*
+	 * Write a quoted and escaped string
+	 */
+	private static void writeString(Appendable out, String value) throws IOException {
+		final int length = value.length();
+		int last = 0;
+
+		out.append('"');
+
+		for (int i = 0; i < length; i++) {
+			final char character = value.charAt(i);
+			final String replacement;
+
+			if (character < 128)
+				replacement = replacements[character];
+
+			else if (character == '\u2028')
+				replacement = "\\u2028";
+
+			else if (character == '\u2029')
+				replacement = "\\u2029";
+
+			else
+				continue;
+
+			if (replacement == null)
+				continue;
+
+			if (last < i)
+				out.append(value, last, i);
+
+			out.append(replacement);
+			last = i + 1;
+		}
+
+		if (last < length)
+			out.append(value, last, length);
+
+		out.append('"');
+	}
+
+	/**
+	 * Thrown when a value cannot be written as JSON, as opposed to errors
+	 * thrown when serializing it which are passed on as they are
+	 */
+	static final class JsonWriteException extends IllegalArgumentException {
+
+		private static final long serialVersionUID = 1L;
+
+		private JsonWriteException(String message) {
+			super(message);
+		}
+	}
+
+	/*
+	 * Writes a value of one exact type
+	 */
+	@FunctionalInterface
+	private interface ValueWriter {
+		void write(Appendable out, Object value) throws IOException;
+	}
+}
@@ -0,0 +1,225 @@
+package org.mineacademy.vfo.collection;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable, ordered list of keys shared by all {@link CompactMap}s having
+ * the same keys added in the same order, giving each key its slot in the value array.
+ * <p>
+ * Schemas form a tree starting at {@link #EMPTY}, adding a key moves a map to the child
+ * schema for that key, so the key Strings are also shared instead of each map holding its own.
+ * A child uses the same key array as its parent when it is the first to add a key after it,
+ * so a chain of schemas only stores each key once.
+ * <p>
+ * The tree only grows up to {@link #MAX_SHARED_SCHEMAS}, after that and after removing keys
+ * maps get schemas of their own that are not added to the tree.
+ */
+final class KeySchema {
+
+	/**
+	 * Maps with more keys fall back to a regular map
+	 */
+	private static final int MAX_KEYS = 128;
+
+	/**
+	 * How many different keys can follow a schema in the tree
+	 */
+	private static final int MAX_TRANSITIONS = 32;
+
+	/**
+	 * How many schemas can be in the tree at most
+	 */
+	private static final int MAX_SHARED_SCHEMAS = 4096;
+
+	/**
+	 * How many schemas are in the tree
+	 */
+	private static final AtomicInteger sharedSchemas = new AtomicInteger();
+
+	/**
+	 * The schema of an empty map, the root of all schemas
+	 */
+	static final KeySchema EMPTY = new KeySchema(new Keys(new String[0], 0), 0, true);
+
+	/**
+	 * The keys, possibly shared with schemas having more keys after ours
+	 */
+	private final Keys keys;
+
+	/**
+	 * How many of the keys are ours
+	 */
+	private final int size;
+
+	/**
+	 * The schemas in the tree we get to by adding a key, null if we are not in the tree
+	 */
+	@Nullable
+	private final Map<String, KeySchema> transitions;
+
+	private KeySchema(Keys keys, int size, boolean shared) {
+		this.keys = keys;
+		this.size = size;
+		this.transitions = shared ? new ConcurrentHashMap<>() : null;
+	}
+
+	/**
+	 * Return how many keys there are
+	 *
+	 * @return
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the key at the given slot
+	 *
+	 * @param slot
+	 * @return
+	 */
+	String keyAt(int slot) {
+		if (slot >= this.size)
+			throw new ArrayIndexOutOfBoundsException(slot);
+
+		return this.keys.array[slot];
+	}
+
+	/**
+	 * Return the slot of the key, or -1 if we do not have it
+	 *
+	 * @param key
+	 * @return
+	 */
+	int slotOf(Object key) {
+		if (key == null)
+			return -1;
+
+		final Integer slot = this.keys.slots.get(key);
+
+		return slot != null && slot < this.size ? slot : -1;
+	}
+
+	/**
+	 * Return the schema with the given key added at the end, or null if
+	 * the map should rather fall back to a regular map
+	 *
+	 * @param key
+	 * @return
+	 */
+	@Nullable
+	KeySchema with(String key) {
+		if (key == null || this.size >= MAX_KEYS)
+			return null;
+
+		if (this.transitions == null)
+			return new KeySchema(this.keysWith(key), this.size + 1, false);
+
+		final KeySchema next = this.transitions.get(key);
+
+		if (next != null)
+			return next;
+
+		// Keep the tree from growing with keys that keep changing, such as player names
+		if (this.transitions.size() >= MAX_TRANSITIONS || sharedSchemas.get() >= MAX_SHARED_SCHEMAS)
+			return new KeySchema(this.keysWith(key), this.size + 1, false);
+
+		return this.transitions.computeIfAbsent(key, newKey -> {
+			sharedSchemas.incrementAndGet();
+
+			return new KeySchema(this.keysWith(newKey), this.size + 1, true);
+		});
+	}
+
+	/**
+	 * Return a schema not shared with other maps with the key at the given slot removed
+	 *
+	 * @param slot
+	 * @return
+	 */
+	KeySchema without(int slot) {
+		final String[] array = new String[capacityFor(this.size - 1)];
+
+		System.arraycopy(this.keys.array, 0, array, 0, slot);
+		System.arraycopy(this.keys.array, slot + 1, array, slot, this.size - slot - 1);
+
+		return new KeySchema(new Keys(array, this.size - 1), this.size - 1, false);
+	}
+
+	/*
+	 * Return keys holding ours followed by the given key, sharing our array if nobody added a key after ours yet
+	 */
+	private Keys keysWith(String key) {
+		if (this.keys.claim(this.size, key))
+			return this.keys;
+
+		final String[] array = new String[capacityFor(this.size + 1)];
+		System.arraycopy(this.keys.array, 0, array, 0, this.size);
+
+		final Keys keys = new Keys(array, this.size);
+		keys.claim(this.size, key);
+
+		return keys;
+	}
+
+	/*
+	 * Return the length of a new key array for the given number of keys, leaving room for more
+	 */
+	private static int capacityFor(int size) {
+		return Math.min(MAX_KEYS, Math.max(4, size * 2));
+	}
+
+	@Override
+	public String toString() {
+		return "KeySchema" + Arrays.toString(Arrays.copyOf(this.keys.array, this.size));
+	}
+
+	/*
+	 * A key array shared by a chain of schemas, each using the keys up to its size.
+	 * Keys are only ever added at the end, so what a schema sees never changes.
+	 */
+	private static final class Keys {
+
+		/*
+		 * The keys, only those below claimed are set
+		 */
+		private final String[] array;
+
+		/*
+		 * The slot of each key set
+		 */
+		private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+
+		/*
+		 * How many keys are set
+		 */
+		private int claimed;
+
+		private Keys(String[] array, int claimed) {
+			this.array = array;
+			this.claimed = claimed;
+
+			for (int slot = 0; slot < claimed; slot++)
+				this.slots.put(array[slot], slot);
+		}
+
+		/*
+		 * Set the key at the given slot if it is the next free one, returning false if taken or full
+		 */
+		private synchronized boolean claim(int slot, String key) {
+			if (slot != this.claimed || slot >= this.array.length)
+				return false;
+
+			this.array[slot] = key;
+			this.slots.put(key, slot);
+			this.claimed++;
+
+			return true;
+		}
+	}
+}
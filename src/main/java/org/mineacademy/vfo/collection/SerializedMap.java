@@ -1,5 +1,6 @@
 package org.mineacademy.vfo.collection;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -18,7 +19,9 @@ import org.mineacademy.vfo.SerializeUtil;
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.exception.FoException;
 import org.mineacademy.vfo.jsonsimple.JSONObject;
+import org.mineacademy.vfo.jsonsimple.JSONParseException;
 import org.mineacademy.vfo.jsonsimple.JSONParser;
+import org.mineacademy.vfo.jsonsimple.LazyJSONObject;
 import org.mineacademy.vfo.model.IsInList;
 import org.mineacademy.vfo.model.Tuple;
 import org.mineacademy.vfo.plugin.SimplePlugin;
@@ -26,10 +29,6 @@ import org.mineacademy.vfo.remain.Remain;
 import org.mineacademy.vfo.settings.ConfigSection;
 import org.mineacademy.vfo.settings.Configuration;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.LongSerializationPolicy;
-
 import lombok.NonNull;
 
 /**
@@ -39,24 +38,10 @@ import lombok.NonNull;
  */
 public final class SerializedMap extends StrictCollection implements Iterable<Map.Entry<String, Object>> {
 
-	/**
-	 * The Google Json instance
-	 */
-	private final static Gson gson;
-
-	static {
-		// Fix Google complicating things and breaking long formatting
-		final GsonBuilder gsonBuilder = new GsonBuilder();
-
-		gsonBuilder.setLongSerializationPolicy(LongSerializationPolicy.STRING);
-
-		gson = gsonBuilder.create();
-	}
-
 	/**
 	 * The internal map with values
 	 */
-	private final StrictMap<String, Object> map = new StrictMap<>();
+	private final StrictMap<String, Object> map;
 
 	/**
 	 * Should we remove entries on get for this map instance,
@@ -76,7 +61,16 @@ public final class SerializedMap extends StrictCollection implements Iterable<Ma
 	}
 
 	public SerializedMap() {
+		this(new StrictMap<>());
+	}
+
+	/*
+	 * Create a new serialized map storing its values in the given map
+	 */
+	private SerializedMap(StrictMap<String, Object> map) {
 		super("Cannot remove '%s' as it is not in the map!", "Value '%s' is already in the map!");
+
+		this.map = map;
 	}
 
 	/**
@@ -820,23 +814,50 @@ public final class SerializedMap extends StrictCollection implements Iterable<Ma
 	}
 
 	/**
-	 * Converts this map into a JSON string
+	 * Converts this map into a JSON string. Errors serializing values are thrown,
+	 * values that cannot be written as JSON are logged and an empty object is returned.
 	 *
 	 * @return
 	 */
 	public String toJson() {
-		final Object map = this.serialize();
-
 		try {
-			return gson.toJson(map);
+			return JsonAppender.toJson(this);
 
-		} catch (final Throwable t) {
-			Common.error(t, "Failed to serialize to json, data: " + map);
+		} catch (final IOException | JsonAppender.JsonWriteException ex) {
+			Common.error(ex, "Failed to serialize to json, data: " + this.map);
 
 			return "{}";
 		}
 	}
 
+	/**
+	 * Writes this map as JSON to the given output, such as a {@link java.io.Writer},
+	 * without building the whole string first
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	public void toJson(@NonNull Appendable out) throws IOException {
+		JsonAppender.write(out, this);
+	}
+
+	/**
+	 * Return a copy of this map keeping its values in a single array, with the keys
+	 * shared by all compact maps having the same keys in the same order.
+	 * <p>
+	 * Takes far less memory when you hold many maps of the same shape at once,
+	 * such as cached player data. The map works the same as any other one, and
+	 * silently switches back to regular storage if its keys keep changing.
+	 *
+	 * @return
+	 */
+	public SerializedMap compact() {
+		final SerializedMap compact = new SerializedMap(StrictMap.backedBy(CompactMap.copyOf(this.map.getSource())));
+		compact.removeOnGet = this.removeOnGet;
+
+		return compact;
+	}
+
 	/**
 	 * @see Map#isEmpty()
 	 *
@@ -1036,14 +1057,50 @@ public final class SerializedMap extends StrictCollection implements Iterable<Ma
 	 * <p>
 	 * Values are not deserialized right away, they are converted
 	 * when you call get() functions
+	 * <p>
+	 * Safe to call from multiple threads at once, each call uses its own parser state
+	 *
+	 * @param json
+	 * @return
+	 */
+	public static SerializedMap fromJson(@NonNull final String json) {
+		return fromJson(json, false);
+	}
+
+	/**
+	 * Attempts to parse the given JSON into a serialized map
+	 * <p>
+	 * When lazy, we only find where the top-level values are and parse each of them
+	 * the first time it is read, so reading a few keys of a large JSON is much faster.
+	 * The JSON is kept in memory until all values were read.
+	 * <p>
+	 * Only use it for maps read from one thread, since reading a value stores it parsed.
+	 * Malformed JSON inside a value is only reported when the value is read,
+	 * as an {@link IllegalArgumentException}.
 	 *
 	 * @param json
+	 * @param lazy
 	 * @return
 	 */
-	public static synchronized SerializedMap fromJson(@NonNull final String json) {
+	public static SerializedMap fromJson(@NonNull final String json, boolean lazy) {
 		if (json.isEmpty() || "[]".equals(json) || "{}".equals(json))
 			return new SerializedMap();
 
+		if (lazy) {
+			final String trimmed = json.trim();
+
+			if (trimmed.startsWith("{") && trimmed.endsWith("}"))
+				try {
+					final LazyJSONObject object = LazyJSONObject.parse(json);
+
+					if (!hasSpigotKeys(object.keySet()))
+						return new SerializedMap(StrictMap.backedBy(object));
+
+				} catch (final JSONParseException ex) {
+					// Parse it again below to report the error
+				}
+		}
+
 		// Fallback to simple
 		try {
 			final Object parsed = JSONParser.deserialize(json);
@@ -1059,4 +1116,15 @@ public final class SerializedMap extends StrictCollection implements Iterable<Ma
 			return null;
 		}
 	}
+
+	/*
+	 * Return true if any key may be in Spigot's 'key=value' format, which of() converts
+	 */
+	private static boolean hasSpigotKeys(Set<String> keys) {
+		for (final String key : keys)
+			if (key.split("\\=").length == 2)
+				return true;
+
+		return false;
+	}
 }
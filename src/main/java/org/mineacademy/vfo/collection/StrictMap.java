@@ -23,16 +23,22 @@ import org.mineacademy.vfo.Valid;
  */
 public final class StrictMap<K, V> extends StrictCollection {
 
+	/*
+	 * The default error messages
+	 */
+	private static final String DEFAULT_REMOVE_MESSAGE = "Cannot remove '%s' as it is not in the map!";
+	private static final String DEFAULT_ADD_MESSAGE = "Key '%s' is already in the map --> '%s'";
+
 	/**
 	 * The internal map holding value-key pairs
 	 */
-	private final Map<K, V> map = new LinkedHashMap<>();
+	private final Map<K, V> map;
 
 	/**
 	 * Create a new strict map
 	 */
 	public StrictMap() {
-		super("Cannot remove '%s' as it is not in the map!", "Key '%s' is already in the map --> '%s'");
+		this(DEFAULT_REMOVE_MESSAGE, DEFAULT_ADD_MESSAGE);
 	}
 
 	/**
@@ -42,7 +48,16 @@ public final class StrictMap<K, V> extends StrictCollection {
 	 * @param addMessage
 	 */
 	public StrictMap(String removeMessage, String addMessage) {
+		this(removeMessage, addMessage, new LinkedHashMap<>());
+	}
+
+	/*
+	 * Create a new strict map storing its entries in the given map
+	 */
+	private StrictMap(String removeMessage, String addMessage, Map<K, V> map) {
 		super(removeMessage, addMessage);
+
+		this.map = map;
 	}
 
 	/**
@@ -56,6 +71,13 @@ public final class StrictMap<K, V> extends StrictCollection {
 		this.putAll(copyOf);
 	}
 
+	/*
+	 * Create a new strict map with the default messages storing its entries in the given map
+	 */
+	static <K, V> StrictMap<K, V> backedBy(Map<K, V> map) {
+		return new StrictMap<>(DEFAULT_REMOVE_MESSAGE, DEFAULT_ADD_MESSAGE, map);
+	}
+
 	// ------------------------------------------------------------------------------------------------------------
 	// Methods below trigger strict checks
 	// ------------------------------------------------------------------------------------------------------------
@@ -0,0 +1,135 @@
+package org.mineacademy.vfo.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.mineacademy.vfo.velocity.BungeeListener;
+import org.mineacademy.vfo.velocity.BungeeStatistics;
+import org.mineacademy.vfo.velocity.BungeeStatistics.Histogram;
+
+/**
+ * A sample sub-command that you can automatically add
+ * to your main command group to see plugin messaging statistics
+ * from {@link BungeeStatistics} and {@link BungeeListener}.
+ * <p>
+ * It is not registered automatically, add it in your
+ * {@link SimpleCommandGroup#registerSubcommands()} like this:
+ *
+ * <pre>
+ * this.registerSubcommand(new MessagingStatsCommand("myplugin.command.messaging"));
+ * </pre>
+ */
+public final class MessagingStatsCommand extends SimpleSubCommand {
+
+	/**
+	 * Create a new sub-command with the given permission.
+	 *
+	 * @param permission
+	 */
+	public MessagingStatsCommand(String permission) {
+		this();
+
+		this.setPermission(permission);
+	}
+
+	public MessagingStatsCommand() {
+		super("messaging|msgstats");
+
+		this.setDescription("Show plugin messaging statistics.");
+		this.setUsage("[channel/action/server|reset]");
+	}
+
+	@Override
+	protected void onCommand() {
+		final String param = this.args.length > 0 ? this.args[0] : null;
+
+		if ("reset".equals(param)) {
+			BungeeStatistics.reset();
+
+			this.tellSuccess("Plugin messaging statistics have been reset.");
+			return;
+		}
+
+		final List<String> lines = new ArrayList<>();
+
+		for (final BungeeListener listener : BungeeListener.getRegisteredListeners())
+			if (param == null || listener.getChannel().equalsIgnoreCase(param))
+				lines.add("&7Channel &f" + listener.getChannel() + "&7: dispatched &f" + listener.getDispatchedMessages()
+						+ "&7, pending &f" + listener.getPendingMessages()
+						+ "&7, throttled &f" + listener.getThrottledMessages()
+						+ "&7, dropped &f" + listener.getDroppedMessages()
+						+ "&7, coalesced &f" + listener.getSuppressedBroadcasts());
+
+		for (final BungeeStatistics.Entry entry : BungeeStatistics.getEntries()) {
+			if (param != null && !entry.getChannel().equalsIgnoreCase(param) && !entry.getAction().equalsIgnoreCase(param) && !entry.getServerName().equalsIgnoreCase(param))
+				continue;
+
+			lines.add("&f" + entry.getChannel() + " " + entry.getAction() + " &7@ &f" + entry.getServerName());
+			lines.add("  &7in &f" + entry.getMessagesIn() + " &7(" + this.formatBytes(entry.getBytesIn()) + ")"
+					+ ", out &f" + entry.getMessagesOut() + " &7(" + this.formatBytes(entry.getBytesOut()) + ")"
+					+ ", oversized &f" + entry.getDroppedOversized()
+					+ "&7, empty server &f" + entry.getDroppedEmptyServer());
+
+			if (entry.getHandlerTime().getCount() > 0)
+				lines.add("  &7handler " + this.formatHistogram(entry.getHandlerTime()));
+
+			if (entry.getLockWait().getCount() > 0)
+				lines.add("  &7lock wait " + this.formatHistogram(entry.getLockWait()));
+
+			if (entry.getQueueWait().getCount() > 0)
+				lines.add("  &7queue wait " + this.formatHistogram(entry.getQueueWait()));
+		}
+
+		if (lines.isEmpty())
+			this.returnTell("No plugin messaging statistics collected yet.");
+
+		this.tellNoPrefix(lines);
+	}
+
+	/*
+	 * Format the histogram average, 99th percentile and max in milliseconds
+	 */
+	private String formatHistogram(Histogram histogram) {
+		return "avg &f" + this.formatNanos(histogram.getAverage())
+				+ "&7, p99 &f" + this.formatNanos(histogram.getPercentile(99))
+				+ "&7, max &f" + this.formatNanos(histogram.getMax());
+	}
+
+	/*
+	 * Format nanoseconds to milliseconds
+	 */
+	private String formatNanos(long nanos) {
+		return String.format("%.2fms", nanos / 1_000_000D);
+	}
+
+	/*
+	 * Format bytes to a human readable size
+	 */
+	private String formatBytes(long bytes) {
+		if (bytes < 1024)
+			return bytes + " B";
+
+		if (bytes < 1024 * 1024)
+			return String.format("%.1f KB", bytes / 1024D);
+
+		return String.format("%.1f MB", bytes / (1024D * 1024D));
+	}
+
+	/**
+	 * @see org.mineacademy.vfo.command.SimpleCommand#tabComplete()
+	 */
+	@Override
+	protected List<String> tabComplete() {
+		if (this.args.length == 1) {
+			final List<String> suggestions = new ArrayList<>();
+			suggestions.add("reset");
+
+			for (final BungeeListener listener : BungeeListener.getRegisteredListeners())
+				suggestions.add(listener.getChannel());
+
+			return this.completeLastWord(suggestions);
+		}
+
+		return NO_COMPLETE;
+	}
+}
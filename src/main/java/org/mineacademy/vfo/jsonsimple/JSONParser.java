@@ -118,7 +118,24 @@ public class JSONParser {
 	 * @throws JSONParseException if an unexpected token is encountered in the deserializable. To recover from a
 	 *         JsonException: fix the deserializable to no longer have an unexpected token and try again. */
 	public static Object deserialize(final Reader readableDeserializable) throws JSONParseException {
-		return JSONParser.deserialize(readableDeserializable, EnumSet.of(DeserializationOptions.ALLOW_JSON_ARRAYS, DeserializationOptions.ALLOW_JSON_OBJECTS, DeserializationOptions.ALLOW_JSON_DATA)).get(0);
+		return JSONReader.parse(JSONParser.read(readableDeserializable), true, true, true);
+	}
+
+	/** Reads the whole reader so that it can be parsed by {@link JSONReader}.
+	 * @param readable representing content to be read.
+	 * @return the content.
+	 * @throws JSONParseException if the reader fails. */
+	private static String read(final Reader readable) throws JSONParseException {
+		final StringBuilder builder = new StringBuilder();
+		final char[] buffer = new char[4096];
+		int read;
+		try {
+			while ((read = readable.read(buffer)) != -1)
+				builder.append(buffer, 0, read);
+		} catch (final IOException caught) {
+			throw new JSONParseException(-1, JSONParseException.Problems.UNEXPECTED_EXCEPTION, caught);
+		}
+		return builder.toString();
 	}
 
 	/** Deserialize a stream with all deserialized JSON values are wrapped in a JsonArray.
@@ -308,13 +325,13 @@ public class JSONParser {
 		return new JSONArray(valueStack);
 	}
 
-	/** A convenience method that assumes a StringReader to deserialize a string.
+	/** A convenience method that deserializes a string without a reader.
 	 * @param deserializable representing content to be deserialized as JSON.
 	 * @return either a boolean, null, Number, String, JsonObject, or JsonArray that best represents the deserializable.
 	 * @throws JSONParseException if an unexpected token is encountered in the deserializable. To recover from a
 	 *         JsonException: fix the deserializable to no longer have an unexpected token and try again.
 	 *
-	 * @see StringReader */
+	 * @see JSONReader */
 	public static Object deserialize(@NonNull final String deserializable) throws JSONParseException {
 
 		final String trimmed = deserializable.trim();
@@ -323,21 +340,7 @@ public class JSONParser {
 		if (!trimmed.startsWith("{") || !trimmed.endsWith("}"))
 			return deserializable;
 
-		Object returnable;
-		StringReader readableDeserializable = null;
-		try {
-			readableDeserializable = new StringReader(deserializable);
-			returnable = JSONParser.deserialize(readableDeserializable);
-		} catch (final NullPointerException caught) {
-			/* They both have the same recovery scenario.
-			 * See StringReader.
-			 * If deserializable is null, it should be reasonable to expect null back. */
-			returnable = null;
-		} finally {
-			if (readableDeserializable != null)
-				readableDeserializable.close();
-		}
-		return returnable;
+		return JSONReader.parse(deserializable, true, true, true);
 	}
 
 	/** A convenience method that assumes a JsonArray must be deserialized.
@@ -348,17 +351,12 @@ public class JSONParser {
 	 *         represents deserializable.
 	 */
 	public static JSONArray deserialize(final String deserializable, final JSONArray defaultValue) {
-		StringReader readable = null;
 		JSONArray returnable;
 		try {
-			readable = new StringReader(deserializable);
-			returnable = JSONParser.deserialize(readable, EnumSet.of(DeserializationOptions.ALLOW_JSON_ARRAYS)).getArray(0);
+			returnable = (JSONArray) JSONReader.parse(deserializable, false, false, true);
 		} catch (NullPointerException | JSONParseException caught) {
 			/* Don't care, just return the default value. */
 			returnable = defaultValue;
-		} finally {
-			if (readable != null)
-				readable.close();
 		}
 		return returnable;
 	}
@@ -371,17 +369,12 @@ public class JSONParser {
 	 *         represents deserializable.
 	 */
 	public static JSONObject deserialize(final String deserializable, final JSONObject defaultValue) {
-		StringReader readable = null;
 		JSONObject returnable;
 		try {
-			readable = new StringReader(deserializable);
-			returnable = JSONParser.deserialize(readable, EnumSet.of(DeserializationOptions.ALLOW_JSON_OBJECTS)).<JSONObject>getMap(0);
+			returnable = (JSONObject) JSONReader.parse(deserializable, false, true, false);
 		} catch (NullPointerException | JSONParseException caught) {
 			/* Don't care, just return the default value. */
 			returnable = defaultValue;
-		} finally {
-			if (readable != null)
-				readable.close();
 		}
 		return returnable;
 	}
@@ -0,0 +1,612 @@
+package org.mineacademy.vfo.jsonsimple;
+
+import java.math.BigDecimal;
+
+/**
+ * A recursive descent JSON parser reading directly from a String, used by {@link JSONParser}
+ * in place of the lexer and its token objects for single JSON values.
+ * <p>
+ * Produces the same values as the lexer: {@link JSONObject}, {@link JSONArray}, String,
+ * {@link BigDecimal}, Boolean or null, and is as lenient, so repeated or missing commas
+ * and colons between values are accepted.
+ */
+final class JSONReader {
+
+	/**
+	 * How deep objects and arrays can be nested before we give up to protect the stack
+	 */
+	private static final int MAX_DEPTH = 512;
+
+	/**
+	 * The JSON we read
+	 */
+	private final String json;
+
+	/**
+	 * The current position in the JSON
+	 */
+	private int position;
+
+	/**
+	 * Reused to build strings with escape sequences
+	 */
+	private StringBuilder builder;
+
+	private JSONReader(String json) {
+		this.json = json;
+	}
+
+	/**
+	 * Parse the given JSON holding exactly one value
+	 *
+	 * @param json
+	 * @param allowData allow the value to be a String, number, boolean or null
+	 * @param allowObjects allow the value to be an object
+	 * @param allowArrays allow the value to be an array
+	 * @return
+	 * @throws JSONParseException if the JSON is malformed or its value is not allowed
+	 */
+	static Object parse(String json, boolean allowData, boolean allowObjects, boolean allowArrays) throws JSONParseException {
+		final JSONReader reader = new JSONReader(json);
+
+		reader.skipWhitespace();
+
+		if (reader.position == json.length())
+			throw reader.unexpectedToken("END");
+
+		final char first = json.charAt(reader.position);
+
+		if (first == '{' ? !allowObjects : first == '[' ? !allowArrays : !allowData)
+			throw new JSONParseException(reader.position, JSONParseException.Problems.DISALLOWED_TOKEN, first);
+
+		final Object value = reader.readValue(0);
+		reader.readEnd();
+
+		return value;
+	}
+
+	/**
+	 * Find where each value of the JSON object starts and ends without parsing the values,
+	 * used by {@link LazyJSONObject}
+	 *
+	 * @param json
+	 * @return the keys with {@link Span} values, ordered the same as when parsing a {@link JSONObject}
+	 * @throws JSONParseException if the JSON is not an object or is malformed outside of its values
+	 */
+	static JSONObject index(String json) throws JSONParseException {
+		final JSONReader reader = new JSONReader(json);
+		final JSONObject object = new JSONObject();
+
+		reader.skipWhitespace();
+
+		if (reader.position == json.length() || json.charAt(reader.position) != '{')
+			throw reader.unexpected();
+
+		reader.position++;
+
+		while (true) {
+			reader.skipWhitespaceAnd(',');
+
+			if (reader.position == json.length())
+				throw reader.unexpectedToken("END");
+
+			final char character = json.charAt(reader.position);
+
+			if (character == '}') {
+				reader.position++;
+
+				break;
+			}
+
+			if (character != '"')
+				throw reader.unexpected();
+
+			final String key = reader.readString();
+
+			reader.skipWhitespaceAnd(':');
+
+			if (reader.position < json.length() && (json.charAt(reader.position) == '}' || json.charAt(reader.position) == ','))
+				throw reader.unexpected();
+
+			final int start = reader.position;
+			reader.skipValue();
+
+			object.put(key, new Span(start, reader.position));
+		}
+
+		reader.readEnd();
+
+		return object;
+	}
+
+	/**
+	 * Parse the value at the given span of the JSON
+	 *
+	 * @param json
+	 * @param span
+	 * @return
+	 * @throws JSONParseException
+	 */
+	static Object parse(String json, Span span) throws JSONParseException {
+		return parse(json.substring(span.start, span.end), true, true, true);
+	}
+
+	/*
+	 * Read any value at the current position
+	 */
+	private Object readValue(int depth) throws JSONParseException {
+		if (this.position == this.json.length())
+			throw this.unexpectedToken("END");
+
+		final char character = this.json.charAt(this.position);
+
+		switch (character) {
+			case '{':
+				return this.readObject(depth + 1);
+
+			case '[':
+				return this.readArray(depth + 1);
+
+			case '"':
+				return this.readString();
+
+			case 't':
+				return this.readLiteral("true", Boolean.TRUE);
+
+			case 'f':
+				return this.readLiteral("false", Boolean.FALSE);
+
+			case 'n':
+				return this.readLiteral("null", null);
+
+			default:
+				if (character == '-' || character >= '0' && character <= '9')
+					return this.readNumber();
+
+				throw this.unexpected();
+		}
+	}
+
+	/*
+	 * Read an object, the current character is the opening brace
+	 */
+	private JSONObject readObject(int depth) throws JSONParseException {
+		if (depth > MAX_DEPTH)
+			throw this.unexpectedToken("nesting deeper than " + MAX_DEPTH);
+
+		final JSONObject object = new JSONObject();
+		this.position++;
+
+		while (true) {
+			this.skipWhitespaceAnd(',');
+
+			if (this.position == this.json.length())
+				throw this.unexpectedToken("END");
+
+			final char character = this.json.charAt(this.position);
+
+			if (character == '}') {
+				this.position++;
+
+				return object;
+			}
+
+			if (character != '"')
+				throw this.unexpected();
+
+			final String key = this.readString();
+
+			this.skipWhitespaceAnd(':');
+
+			if (this.position < this.json.length() && (this.json.charAt(this.position) == '}' || this.json.charAt(this.position) == ','))
+				throw this.unexpected();
+
+			object.put(key, this.readValue(depth));
+		}
+	}
+
+	/*
+	 * Read an array, the current character is the opening bracket
+	 */
+	private JSONArray readArray(int depth) throws JSONParseException {
+		if (depth > MAX_DEPTH)
+			throw this.unexpectedToken("nesting deeper than " + MAX_DEPTH);
+
+		final JSONArray array = new JSONArray();
+		this.position++;
+
+		while (true) {
+			this.skipWhitespaceAnd(',');
+
+			if (this.position == this.json.length())
+				throw this.unexpectedToken("END");
+
+			if (this.json.charAt(this.position) == ']') {
+				this.position++;
+
+				return array;
+			}
+
+			array.add(this.readValue(depth));
+		}
+	}
+
+	/*
+	 * Read a string, the current character is the opening quote
+	 */
+	private String readString() throws JSONParseException {
+		final int start = ++this.position;
+
+		// Fast path for strings without escape sequences
+		for (int index = start; index < this.json.length(); index++) {
+			final char character = this.json.charAt(index);
+
+			if (character == '"') {
+				this.position = index + 1;
+
+				return this.json.substring(start, index);
+			}
+
+			if (character == '\\')
+				return this.readEscapedString(start, index);
+		}
+
+		this.position = this.json.length();
+		throw this.unexpectedToken("END");
+	}
+
+	/*
+	 * Read the rest of a string containing escape sequences, starting at the first backslash
+	 */
+	private String readEscapedString(int start, int index) throws JSONParseException {
+		if (this.builder == null)
+			this.builder = new StringBuilder();
+
+		final StringBuilder builder = this.builder;
+
+		builder.setLength(0);
+		builder.append(this.json, start, index);
+
+		while (index < this.json.length()) {
+			final char character = this.json.charAt(index++);
+
+			if (character == '"') {
+				this.position = index;
+
+				return builder.toString();
+			}
+
+			if (character != '\\') {
+				builder.append(character);
+
+				continue;
+			}
+
+			if (index == this.json.length())
+				break;
+
+			final char escaped = this.json.charAt(index);
+
+			switch (escaped) {
+				case '"':
+				case '\\':
+				case '/':
+					builder.append(escaped);
+					break;
+
+				case 'b':
+					builder.append('\b');
+					break;
+
+				case 'f':
+					builder.append('\f');
+					break;
+
+				case 'n':
+					builder.append('\n');
+					break;
+
+				case 'r':
+					builder.append('\r');
+					break;
+
+				case 't':
+					builder.append('\t');
+					break;
+
+				case 'u':
+					final int code = this.readHex(index + 1);
+
+					if (code != -1) {
+						builder.append((char) code);
+						index += 4;
+
+						break;
+					}
+
+					//$FALL-THROUGH$
+				default:
+					// The lexer keeps unknown escape sequences as they are
+					builder.append('\\');
+
+					continue;
+			}
+
+			index++;
+		}
+
+		this.position = this.json.length();
+		throw this.unexpectedToken("END");
+	}
+
+	/*
+	 * Return the value of four hex digits at the given index, or -1 if there are none
+	 */
+	private int readHex(int index) {
+		if (index + 4 > this.json.length())
+			return -1;
+
+		int code = 0;
+
+		for (int end = index + 4; index < end; index++) {
+			final char character = this.json.charAt(index);
+			final int digit = character >= '0' && character <= '9' ? character - '0' : character >= 'a' && character <= 'f' ? character - 'a' + 10 : character >= 'A' && character <= 'F' ? character - 'A' + 10 : -1;
+
+			if (digit == -1)
+				return -1;
+
+			code = code * 16 + digit;
+		}
+
+		return code;
+	}
+
+	/*
+	 * Check that only whitespace follows the value the same as the lexer-based parser, which only
+	 * fails on the token after the first one past the value and takes an unterminated string as the end
+	 */
+	private void readEnd() throws JSONParseException {
+		this.skipWhitespace();
+
+		if (!this.skipToken())
+			return;
+
+		this.skipWhitespace();
+
+		final int start = this.position;
+
+		if (!this.skipToken())
+			throw new JSONParseException(this.json.length(), JSONParseException.Problems.UNEXPECTED_TOKEN, "END");
+
+		throw new JSONParseException(start, JSONParseException.Problems.UNEXPECTED_TOKEN, this.json.charAt(start));
+	}
+
+	/*
+	 * Move past the token at the current position, returning false if there is none
+	 * or if it is a string left unterminated at the end
+	 */
+	private boolean skipToken() throws JSONParseException {
+		if (this.position == this.json.length())
+			return false;
+
+		final char character = this.json.charAt(this.position);
+
+		if (character == '"') {
+			try {
+				this.skipString();
+
+			} catch (final JSONParseException ex) {
+				return false;
+			}
+
+		} else if ("{}[],:".indexOf(character) != -1)
+			this.position++;
+
+		else
+			this.readValue(0);
+
+		return true;
+	}
+
+	/*
+	 * Read a number as -?[0-9]+(.[0-9]+)?([eE][+-]?[0-9]+)?, leaving anything not matching for the caller
+	 */
+	private BigDecimal readNumber() throws JSONParseException {
+		final int start = this.position;
+		int index = this.json.charAt(start) == '-' ? start + 1 : start;
+
+		final int integerEnd = this.skipDigits(index);
+
+		if (integerEnd == index)
+			throw this.unexpectedCharacter();
+
+		index = integerEnd;
+
+		if (index < this.json.length() && this.json.charAt(index) == '.') {
+			final int fractionEnd = this.skipDigits(index + 1);
+
+			if (fractionEnd > index + 1)
+				index = fractionEnd;
+		}
+
+		if (index < this.json.length() && (this.json.charAt(index) == 'e' || this.json.charAt(index) == 'E')) {
+			int exponentStart = index + 1;
+
+			if (exponentStart < this.json.length() && (this.json.charAt(exponentStart) == '+' || this.json.charAt(exponentStart) == '-'))
+				exponentStart++;
+
+			final int exponentEnd = this.skipDigits(exponentStart);
+
+			if (exponentEnd > exponentStart)
+				index = exponentEnd;
+		}
+
+		this.position = index;
+
+		return new BigDecimal(this.json.substring(start, index));
+	}
+
+	/*
+	 * Return the index after all digits starting at the given index
+	 */
+	private int skipDigits(int index) {
+		while (index < this.json.length() && this.json.charAt(index) >= '0' && this.json.charAt(index) <= '9')
+			index++;
+
+		return index;
+	}
+
+	/*
+	 * Move past the value at the current position, only checking that
+	 * brackets and quotes of objects and arrays are closed
+	 */
+	private void skipValue() throws JSONParseException {
+		if (this.position == this.json.length())
+			throw this.unexpectedToken("END");
+
+		final char character = this.json.charAt(this.position);
+
+		if (character == '"')
+			this.skipString();
+
+		else if (character == '{' || character == '[') {
+			int depth = 0;
+
+			while (this.position < this.json.length()) {
+				final char next = this.json.charAt(this.position);
+
+				if (next == '"') {
+					this.skipString();
+
+					continue;
+				}
+
+				this.position++;
+
+				if (next == '{' || next == '[')
+					depth++;
+
+				else if ((next == '}' || next == ']') && --depth == 0)
+					return;
+			}
+
+			throw this.unexpectedToken("END");
+
+		} else
+			this.readValue(0);
+	}
+
+	/*
+	 * Move past the string at the current position, the character after a backslash never ends it
+	 */
+	private void skipString() throws JSONParseException {
+		for (int index = this.position + 1; index < this.json.length(); index++) {
+			final char character = this.json.charAt(index);
+
+			if (character == '"') {
+				this.position = index + 1;
+
+				return;
+			}
+
+			if (character == '\\')
+				index++;
+		}
+
+		this.position = this.json.length();
+		throw this.unexpectedToken("END");
+	}
+
+	/*
+	 * Read the given literal returning the given value
+	 */
+	private Object readLiteral(String literal, Object value) throws JSONParseException {
+		if (!this.json.startsWith(literal, this.position))
+			throw this.unexpectedCharacter();
+
+		this.position += literal.length();
+
+		return value;
+	}
+
+	/*
+	 * Skip spaces, tabs and line breaks
+	 */
+	private void skipWhitespace() {
+		while (this.position < this.json.length() && isWhitespace(this.json.charAt(this.position)))
+			this.position++;
+	}
+
+	/*
+	 * Skip whitespace and any amount of the given separator
+	 */
+	private void skipWhitespaceAnd(char separator) {
+		char character;
+
+		while (this.position < this.json.length() && (isWhitespace(character = this.json.charAt(this.position)) || character == separator))
+			this.position++;
+	}
+
+	/*
+	 * Return true if the character is a whitespace the same as the lexer recognizes
+	 */
+	private static boolean isWhitespace(char character) {
+		return character == ' ' || character == '\t' || character == '\n' || character == '\r';
+	}
+
+	/*
+	 * Create an exception for whatever is at the current position, telling apart
+	 * valid tokens in a wrong place from characters that are never valid the same as the lexer
+	 */
+	private JSONParseException unexpected() {
+		if (this.position == this.json.length())
+			return this.unexpectedToken("END");
+
+		final char character = this.json.charAt(this.position);
+
+		if ("{}[],:\"0123456789".indexOf(character) != -1 || character == '-' && this.skipDigits(this.position + 1) > this.position + 1 || this.json.startsWith("true", this.position) || this.json.startsWith("false", this.position) || this.json.startsWith("null", this.position))
+			return this.unexpectedToken(character);
+
+		return this.unexpectedCharacter();
+	}
+
+	/*
+	 * Create an exception for the character at the current position
+	 */
+	private JSONParseException unexpectedCharacter() {
+		return new JSONParseException(this.position, JSONParseException.Problems.UNEXPECTED_CHARACTER, String.valueOf(this.json.charAt(this.position)));
+	}
+
+	/*
+	 * Create an exception for an unexpected token at the current position
+	 */
+	private JSONParseException unexpectedToken(Object token) {
+		return new JSONParseException(this.position, JSONParseException.Problems.UNEXPECTED_TOKEN, token);
+	}
+
+	/**
+	 * Where a value starts and ends in the JSON
+	 */
+	static final class Span {
+
+		/**
+		 * The index of the first character and the index after the last one
+		 */
+		private final int start, end;
+
+		private Span(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		/**
+		 * Return the JSON of the value
+		 *
+		 * @param json
+		 * @return
+		 */
+		String toString(String json) {
+			return json.substring(this.start, this.end);
+		}
+	}
+}
@@ -0,0 +1,291 @@
+package org.mineacademy.vfo.jsonsimple;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.mineacademy.vfo.jsonsimple.JSONReader.Span;
+
+import lombok.NonNull;
+
+/**
+ * A JSON object only remembering where its values are when created and parsing
+ * each value the first time it is read, so reading a few keys of a large JSON
+ * only costs as much as those values.
+ * <p>
+ * Values are of the same types {@link JSONParser} creates and keys are in the same
+ * order a {@link JSONObject} parsed from the same JSON has them. Nested objects and arrays
+ * are parsed as a whole when their key is read, and errors inside of them are only thrown then.
+ * <p>
+ * Not thread safe, not even for reading since reading a value stores it parsed.
+ * The JSON is released once all values were read or removed.
+ */
+public final class LazyJSONObject extends AbstractMap<String, Object> {
+
+	/**
+	 * The JSON we read values from, null once all values were read
+	 */
+	private String json;
+
+	/**
+	 * How many values were not read yet
+	 */
+	private int unparsed;
+
+	/**
+	 * The keys with their values, or {@link Span}s for values not read yet
+	 */
+	private final Map<String, Object> entries;
+
+	/**
+	 * The entry set view
+	 */
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	private LazyJSONObject(String json, Map<String, Object> entries) {
+		this.json = json;
+		this.entries = entries;
+		this.unparsed = entries.size();
+
+		if (this.unparsed == 0)
+			this.release();
+	}
+
+	/**
+	 * Find the keys in the given JSON object without parsing its values
+	 *
+	 * @param json
+	 * @return
+	 * @throws JSONParseException if the JSON is not an object or is malformed outside of its values
+	 */
+	public static LazyJSONObject parse(@NonNull String json) throws JSONParseException {
+		return new LazyJSONObject(json, new LinkedHashMap<>(JSONReader.index(json)));
+	}
+
+	@Override
+	public int size() {
+		return this.entries.size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.entries.containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		final Object value = this.entries.get(key);
+
+		if (value instanceof Span) {
+			final Object parsed = this.parseValue((String) key, (Span) value);
+			this.entries.put((String) key, parsed);
+
+			return parsed;
+		}
+
+		return value;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		final Object oldValue = this.entries.get(key);
+		final Object parsedOldValue = oldValue instanceof Span ? this.parseValue(key, (Span) oldValue) : oldValue;
+
+		this.entries.put(key, value);
+
+		return parsedOldValue;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		final Object oldValue = this.entries.get(key);
+		final Object parsedOldValue = oldValue instanceof Span ? this.parseValue((String) key, (Span) oldValue) : oldValue;
+
+		this.entries.remove(key);
+
+		return parsedOldValue;
+	}
+
+	@Override
+	public void clear() {
+		this.entries.clear();
+		this.release();
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (this.entrySet == null)
+			this.entrySet = new EntrySet();
+
+		return this.entrySet;
+	}
+
+	/**
+	 * Values not read yet are printed as their JSON without parsing them
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder("{");
+
+		for (final Map.Entry<String, Object> entry : this.entries.entrySet()) {
+			if (builder.length() > 1)
+				builder.append(", ");
+
+			final Object value = entry.getValue();
+
+			builder.append(entry.getKey()).append('=').append(value instanceof Span ? ((Span) value).toString(this.json) : value);
+		}
+
+		return builder.append('}').toString();
+	}
+
+	/*
+	 * Parse the value of the given key, which the caller then replaces or removes
+	 */
+	private Object parseValue(String key, Span span) {
+		final Object parsed;
+
+		try {
+			parsed = JSONReader.parse(this.json, span);
+
+		} catch (final JSONParseException ex) {
+			throw new IllegalArgumentException("Malformed JSON value of key '" + key + "': " + span.toString(this.json), ex);
+		}
+
+		this.parsedOrRemoved();
+
+		return parsed;
+	}
+
+	/*
+	 * Count down values not read yet, releasing the JSON after the last one
+	 */
+	private void parsedOrRemoved() {
+		if (--this.unparsed == 0)
+			this.release();
+	}
+
+	/*
+	 * Forget the JSON once no value needs it
+	 */
+	private void release() {
+		this.unparsed = 0;
+		this.json = null;
+	}
+
+	/*
+	 * The entries, parsing values as they are read
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		@Override
+		public int size() {
+			return LazyJSONObject.this.entries.size();
+		}
+
+		@Override
+		public void clear() {
+			LazyJSONObject.this.clear();
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			final Iterator<Map.Entry<String, Object>> iterator = LazyJSONObject.this.entries.entrySet().iterator();
+
+			return new Iterator<Map.Entry<String, Object>>() {
+
+				/*
+				 * The entry last returned
+				 */
+				private Map.Entry<String, Object> last;
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public Map.Entry<String, Object> next() {
+					this.last = iterator.next();
+
+					return new Entry(this.last);
+				}
+
+				@Override
+				public void remove() {
+					final boolean unparsed = this.last != null && this.last.getValue() instanceof Span;
+
+					iterator.remove();
+
+					if (unparsed)
+						LazyJSONObject.this.parsedOrRemoved();
+				}
+			};
+		}
+	}
+
+	/*
+	 * An entry parsing its value when read
+	 */
+	private final class Entry implements Map.Entry<String, Object> {
+
+		/*
+		 * The entry in our entries map
+		 */
+		private final Map.Entry<String, Object> entry;
+
+		private Entry(Map.Entry<String, Object> entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public String getKey() {
+			return this.entry.getKey();
+		}
+
+		@Override
+		public Object getValue() {
+			final Object value = this.entry.getValue();
+
+			if (value instanceof Span) {
+				final Object parsed = LazyJSONObject.this.parseValue(this.entry.getKey(), (Span) value);
+				this.entry.setValue(parsed);
+
+				return parsed;
+			}
+
+			return value;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			final Object oldValue = this.getValue();
+			this.entry.setValue(value);
+
+			return oldValue;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (!(object instanceof Map.Entry))
+				return false;
+
+			final Map.Entry<?, ?> other = (Map.Entry<?, ?>) object;
+
+			return this.getKey().equals(other.getKey()) && (this.getValue() == null ? other.getValue() == null : this.getValue().equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.getKey().hashCode() ^ (this.getValue() == null ? 0 : this.getValue().hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return this.getKey() + "=" + this.getValue();
+		}
+	}
+}
@@ -0,0 +1,384 @@
+package org.mineacademy.vfo.model;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.mineacademy.vfo.Common;
+import org.mineacademy.vfo.Valid;
+import org.mineacademy.vfo.collection.expiringmap.NamedThreadFactory;
+import org.mineacademy.vfo.debug.Debugger;
+
+import com.velocitypowered.api.scheduler.ScheduledTask;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * A single shared thread watching files and folders for changes, replacing
+ * one {@link FolderWatcher} thread per folder.
+ * <p>
+ * Files being created, changed or removed are collected and handed to the subscriber
+ * in one batch once no further changes were made for a short while, so saving
+ * a file from an editor several times in a row only triggers one reload.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FileWatchService {
+
+	/**
+	 * How long to wait in ticks after the last change before notifying subscribers
+	 */
+	private static final int DEBOUNCE_TICKS = 10;
+
+	/**
+	 * The registered directories by their watch key
+	 */
+	private static final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+
+	/**
+	 * All active subscriptions
+	 */
+	private static final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The watch service, started on the first subscription
+	 */
+	private static WatchService service;
+
+	/**
+	 * Start notifying the listener when the given file is created, changed or removed
+	 *
+	 * @param file
+	 * @param listener
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public static Subscription watchFile(@NonNull File file, @NonNull Consumer<Set<File>> listener) {
+		final Path path = file.getAbsoluteFile().toPath();
+		Valid.checkBoolean(!Files.isDirectory(path), file + " is a directory, use watchFolder() instead!");
+
+		return subscribe(new Subscription(path, false, false, listener));
+	}
+
+	/**
+	 * Start notifying the listener when files in the given folder are created, changed or removed
+	 *
+	 * @param folder
+	 * @param recursive true to also watch all subfolders, including those created later
+	 * @param listener
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public static Subscription watchFolder(@NonNull File folder, boolean recursive, @NonNull Consumer<Set<File>> listener) {
+		final Path path = folder.getAbsoluteFile().toPath();
+		Valid.checkBoolean(Files.isDirectory(path), folder + " must be an existing directory!");
+
+		return subscribe(new Subscription(path, true, recursive, listener));
+	}
+
+	/*
+	 * Register the directories the subscription needs and start watching
+	 */
+	private static synchronized Subscription subscribe(Subscription subscription) {
+		try {
+			if (service == null) {
+				service = FileSystems.getDefault().newWatchService();
+
+				final WatchService startedService = service;
+				new NamedThreadFactory("File Watch Service").newThread(() -> watch(startedService)).start();
+			}
+
+			if (subscription.folder)
+				register(subscription.path, subscription.recursive);
+			else
+				register(subscription.path.getParent(), false);
+
+		} catch (final IOException ex) {
+			Common.throwError(ex, "Unable to watch " + subscription.path + " for changes");
+		}
+
+		subscriptions.add(subscription);
+		Debugger.debug("watch", "Watching " + subscription.path + (subscription.recursive ? " recursively" : ""));
+
+		return subscription;
+	}
+
+	/*
+	 * Remove the subscription and stop watching directories no other subscription needs
+	 */
+	private static synchronized void unsubscribe(Subscription subscription) {
+		if (!subscriptions.remove(subscription))
+			return;
+
+		for (final Iterator<Map.Entry<WatchKey, Path>> iterator = directories.entrySet().iterator(); iterator.hasNext();) {
+			final Map.Entry<WatchKey, Path> entry = iterator.next();
+			boolean needed = false;
+
+			for (final Subscription other : subscriptions)
+				if (other.needs(entry.getValue())) {
+					needed = true;
+
+					break;
+				}
+
+			if (!needed) {
+				entry.getKey().cancel();
+
+				iterator.remove();
+			}
+		}
+
+		Debugger.debug("watch", "Stopped watching " + subscription.path);
+	}
+
+	/*
+	 * Register the given directory and optionally all directories inside of it
+	 */
+	private static void register(Path directory, boolean recursive) throws IOException {
+		if (!recursive) {
+			directories.put(directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), directory);
+
+			return;
+		}
+
+		Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) throws IOException {
+				register(dir, false);
+
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	/*
+	 * The watching loop running until the given service is closed
+	 */
+	private static void watch(WatchService watchService) {
+		while (true) {
+			final WatchKey key;
+
+			try {
+				key = watchService.take();
+
+			} catch (final ClosedWatchServiceException | InterruptedException ex) {
+				return;
+			}
+
+			try {
+				final Path directory = directories.get(key);
+
+				if (directory != null)
+					for (final WatchEvent<?> event : key.pollEvents()) {
+
+						// Events were lost, let subscribers check the whole directory
+						final Path path = event.kind() == OVERFLOW ? directory : directory.resolve((Path) event.context());
+
+						if (event.kind() == ENTRY_CREATE && Files.isDirectory(path))
+							registerCreatedDirectory(path);
+
+						for (final Subscription subscription : subscriptions)
+							if (subscription.covers(path))
+								subscription.queue(path.toFile());
+					}
+
+				if (!key.reset())
+					directories.remove(key);
+
+			} catch (final Throwable t) {
+				Common.error(t, "Error handling file changes in " + directories.get(key));
+			}
+		}
+	}
+
+	/*
+	 * Start watching a directory created inside of a recursively watched one
+	 */
+	private static synchronized void registerCreatedDirectory(Path directory) throws IOException {
+		if (service == null)
+			return;
+
+		for (final Subscription subscription : subscriptions)
+			if (subscription.recursive && directory.startsWith(subscription.path)) {
+				register(directory, true);
+
+				break;
+			}
+	}
+
+	/**
+	 * Stop watching all files and folders, cancelling all subscriptions
+	 */
+	public static synchronized void stop() {
+		for (final Subscription subscription : subscriptions)
+			subscription.cancelPending();
+
+		subscriptions.clear();
+		directories.clear();
+
+		if (service != null) {
+			try {
+				service.close();
+
+			} catch (final IOException ex) {
+				// ignore
+			}
+
+			service = null;
+		}
+	}
+
+	/**
+	 * Represents a file or folder being watched
+	 */
+	public static final class Subscription {
+
+		/**
+		 * The watched file or folder
+		 */
+		@Getter
+		private final Path path;
+
+		/**
+		 * Is the path a folder, and do we also watch its subfolders?
+		 */
+		private final boolean folder, recursive;
+
+		/**
+		 * Called with changed files
+		 */
+		private final Consumer<Set<File>> listener;
+
+		/**
+		 * Files changed since the last notification
+		 */
+		private final Set<File> pendingFiles = new LinkedHashSet<>();
+
+		/**
+		 * The task notifying the listener
+		 */
+		private ScheduledTask pendingTask;
+
+		/**
+		 * False once cancelled
+		 */
+		@Getter
+		private volatile boolean active = true;
+
+		private Subscription(Path path, boolean folder, boolean recursive, Consumer<Set<File>> listener) {
+			this.path = path;
+			this.folder = folder;
+			this.recursive = recursive;
+			this.listener = listener;
+		}
+
+		/*
+		 * Return true if changes to the given path concern this subscription
+		 */
+		private boolean covers(Path changed) {
+			if (!this.folder)
+				return changed.equals(this.path) || changed.equals(this.path.getParent());
+
+			return this.recursive ? changed.startsWith(this.path) : changed.equals(this.path) || this.path.equals(changed.getParent());
+		}
+
+		/*
+		 * Add the file to the batch and reschedule the notification
+		 */
+		private synchronized void queue(File file) {
+			if (!this.active)
+				return;
+
+			this.pendingFiles.add(file);
+
+			if (this.pendingTask != null)
+				this.pendingTask.cancel();
+
+			this.pendingTask = Common.runLaterAsync(DEBOUNCE_TICKS, this::notifyListener);
+		}
+
+		/*
+		 * Hand all changed files to the listener
+		 */
+		private void notifyListener() {
+			final Set<File> files;
+
+			synchronized (this) {
+				if (!this.active || this.pendingFiles.isEmpty())
+					return;
+
+				files = Collections.unmodifiableSet(new LinkedHashSet<>(this.pendingFiles));
+
+				this.pendingFiles.clear();
+				this.pendingTask = null;
+			}
+
+			try {
+				this.listener.accept(files);
+
+			} catch (final Throwable t) {
+				Common.error(t, "Error handling changes to " + files);
+			}
+		}
+
+		/*
+		 * Stop the scheduled notification
+		 */
+		private synchronized void cancelPending() {
+			this.active = false;
+			this.pendingFiles.clear();
+
+			if (this.pendingTask != null) {
+				try {
+					this.pendingTask.cancel();
+
+				} catch (final Exception ex) {
+					// ignore
+				}
+
+				this.pendingTask = null;
+			}
+		}
+
+		/*
+		 * Return true if this subscription needs events from the given directory
+		 */
+		private boolean needs(Path directory) {
+			if (!this.folder)
+				return directory.equals(this.path.getParent());
+
+			return this.recursive ? directory.startsWith(this.path) : directory.equals(this.path);
+		}
+
+		/**
+		 * Stop watching, pending changes are discarded
+		 */
+		public void cancel() {
+			this.cancelPending();
+
+			unsubscribe(this);
+		}
+	}
+}
@@ -25,6 +25,11 @@ import com.velocitypowered.api.scheduler.ScheduledTask;
 import lombok.AccessLevel;
 import lombok.Getter;
 
+/**
+ * Watches a folder on its own thread and reports changed files.
+ *
+ * To watch many files or folders prefer {@link FileWatchService} which uses one thread for all.
+ */
 @Getter(value = AccessLevel.PROTECTED)
 public abstract class FolderWatcher extends Thread {
 
@@ -34,13 +39,15 @@ public abstract class FolderWatcher extends Thread {
 	private static final Set<FolderWatcher> activeThreads = new HashSet<>();
 
 	/**
-	 * Stop all active threads
+	 * Stop all active threads, including the shared {@link FileWatchService}
 	 */
 	public static void stopThreads() {
 		for (final FolderWatcher thread : activeThreads)
 			thread.stopWatching();
 
 		activeThreads.clear();
+
+		FileWatchService.stop();
 	}
 
 	/**
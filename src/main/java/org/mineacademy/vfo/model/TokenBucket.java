@@ -0,0 +1,91 @@
+package org.mineacademy.vfo.model;
+
+import org.mineacademy.vfo.Valid;
+
+import lombok.Getter;
+
+/**
+ * Represents a simple thread-safe token bucket used to limit how often
+ * something can happen while still allowing short bursts.
+ * <p>
+ * The bucket starts full and refills continuously at the given rate.
+ */
+public final class TokenBucket {
+
+	/**
+	 * How many tokens are added each second
+	 */
+	@Getter
+	private final double refillPerSecond;
+
+	/**
+	 * The maximum amount of tokens the bucket can hold
+	 */
+	@Getter
+	private final int capacity;
+
+	/**
+	 * The tokens currently available
+	 */
+	private double tokens;
+
+	/**
+	 * The last time in nanoseconds we refilled the bucket
+	 */
+	private long lastRefillNanos;
+
+	/**
+	 * Create a new full token bucket
+	 *
+	 * @param refillPerSecond how many tokens are added each second
+	 * @param capacity the maximum burst
+	 */
+	public TokenBucket(final double refillPerSecond, final int capacity) {
+		Valid.checkBoolean(refillPerSecond > 0, "Token bucket refill rate must be greater than 0, got " + refillPerSecond);
+		Valid.checkBoolean(capacity > 0, "Token bucket capacity must be greater than 0, got " + capacity);
+
+		this.refillPerSecond = refillPerSecond;
+		this.capacity = capacity;
+		this.tokens = capacity;
+		this.lastRefillNanos = System.nanoTime();
+	}
+
+	/**
+	 * Attempts to take one token from the bucket
+	 *
+	 * @return true if a token was available and taken, false if the limit was hit
+	 */
+	public synchronized boolean tryAcquire() {
+		this.refill();
+
+		if (this.tokens < 1)
+			return false;
+
+		this.tokens--;
+		return true;
+	}
+
+	/**
+	 * Return how many whole tokens are available right now
+	 *
+	 * @return
+	 */
+	public synchronized int getAvailableTokens() {
+		this.refill();
+
+		return (int) this.tokens;
+	}
+
+	/*
+	 * Add tokens for the time that passed since the last refill
+	 */
+	private void refill() {
+		final long now = System.nanoTime();
+		final long elapsed = now - this.lastRefillNanos;
+
+		if (elapsed > 0) {
+			this.tokens = Math.min(this.capacity, this.tokens + elapsed * this.refillPerSecond / 1_000_000_000D);
+			this.lastRefillNanos = now;
+		}
+	}
+}
@@ -31,6 +31,10 @@ public final class Variable extends YamlConfig {
 	 */
 	private static final ConfigItems<Variable> loadedVariables = ConfigItems.fromFolder("variables", Variable.class);
 
+	static {
+		loadedVariables.setAliasFunction(Variable::getKey);
+	}
+
 	/**
 	 * The kind of this variable
 	 */
@@ -325,11 +329,7 @@ public final class Variable extends YamlConfig {
 	 * @return
 	 */
 	public static Variable findVariable(@NonNull final String name) {
-		for (final Variable item : getVariables())
-			if (item.getKey().equalsIgnoreCase(name))
-				return item;
-
-		return null;
+		return loadedVariables.findItemByAlias(name);
 	}
 
 	/**
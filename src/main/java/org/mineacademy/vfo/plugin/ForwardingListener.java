@@ -9,10 +9,13 @@ import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.PlayerUtil;
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.debug.Debugger;
+import org.mineacademy.vfo.exception.FoException;
 import org.mineacademy.vfo.remain.Remain;
 import org.mineacademy.vfo.velocity.BungeeListener;
 import org.mineacademy.vfo.velocity.BungeeMessageType;
+import org.mineacademy.vfo.velocity.BungeeStatistics;
 import org.mineacademy.vfo.velocity.message.IncomingMessage;
+import org.mineacademy.vfo.velocity.message.MessageCompression;
 
 import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
@@ -45,7 +48,11 @@ final class ForwardingListener {
 	 */
 	@Subscribe
 	public void onPluginMessage(PluginMessageEvent event) {
+		final long lockRequested = System.nanoTime();
+
 		synchronized (BungeeListener.DEFAULT_CHANNEL) {
+			final long lockWaited = System.nanoTime() - lockRequested;
+
 			final ChannelMessageSource sender = event.getSource();
 			final ChannelMessageSink receiver = event.getTarget();
 			final byte[] data = event.getData();
@@ -70,6 +77,16 @@ final class ForwardingListener {
 
 			for (final BungeeListener listener : BungeeListener.getRegisteredListeners())
 				if (subChannel.equals(listener.getChannel())) {
+					final String connectionName = connection.getServerInfo().getName();
+
+					// Consume the message either way so that it is not forwarded to the player
+					handled = true;
+
+					if (!listener.tryAcquire(connectionName)) {
+						Common.logTimed(10, "Server " + connectionName + " is sending too many messages on channel " + subChannel + ", dropping them.");
+
+						continue;
+					}
 
 					final UUID senderUid = UUID.fromString(in.readUTF());
 					final String serverName = in.readUTF();
@@ -78,30 +95,52 @@ final class ForwardingListener {
 					final BungeeMessageType action = BungeeMessageType.getByName(listener, actionName);
 					Valid.checkNotNull(action, "Unknown plugin action '" + actionName + "'. IF YOU UPDATED THE PLUGIN BY RELOADING, stop your entire network, ensure all servers were updated and start it again.");
 
-					final IncomingMessage message = new IncomingMessage(listener, senderUid, serverName, action, data, in, stream);
+					final BungeeStatistics.Entry statistics = BungeeStatistics.of(listener, action, connectionName);
 
-					listener.setSender((ServerConnection) sender);
-					listener.setReceiver(receiver);
-					listener.setData(data);
+					statistics.recordIn(data.length);
+					statistics.getLockWait().record(lockWaited);
 
-					Debugger.debug("bungee-all", "Channel " + subChannel + " received " + message.getAction() + " message from " + message.getServerName() + " server.");
+					final IncomingMessage message;
+					final byte compression = listener.getCompressionThreshold() >= 0 ? in.readByte() : MessageCompression.FLAG_NONE;
 
-					try {
-						listener.onMessageReceived(listener.getSender(), message);
+					if (compression != MessageCompression.FLAG_NONE && compression != MessageCompression.FLAG_DEFLATE) {
+						Common.logTimed(10, "Dropping " + actionName + " message on channel " + subChannel + " from server " + connectionName + ": unknown compression flag " + compression
+								+ ", ensure compression is enabled on both proxy and Spigot.");
 
-					} catch (final Throwable t) {
-						Common.error(t,
-								Common.consoleLine(),
-								"ERROR COMMUNICATING WITH SPIGOT",
-								Common.consoleLine(),
-								"Ensure you are running latest version of",
-								"both proxy and Spigot plugins!",
-								"",
-								"Server: " + connection.getServerInfo().getName(),
-								"Error: " + t.getClass().getSimpleName() + ": " + t.getMessage());
+						continue;
 					}
 
-					handled = true;
+					if (compression == MessageCompression.FLAG_DEFLATE) {
+						final byte[] compressed = new byte[stream.available()];
+						in.readFully(compressed);
+
+						final byte[] decompressed;
+
+						try {
+							decompressed = MessageCompression.decompress(compressed, listener.getMaxDecompressedSize());
+
+						} catch (final FoException ex) {
+							Common.logTimed(10, "Dropping " + actionName + " message on channel " + subChannel + " from server " + connectionName + ": " + ex.getMessage());
+
+							continue;
+						}
+
+						final ByteArrayInputStream decompressedStream = new ByteArrayInputStream(decompressed);
+
+						message = new IncomingMessage(listener, senderUid, serverName, action, data, ByteStreams.newDataInput(decompressedStream), decompressedStream);
+
+					} else
+						message = new IncomingMessage(listener, senderUid, serverName, action, data, in, stream);
+
+					final Thread eventThread = Thread.currentThread();
+					final long dispatched = System.nanoTime();
+
+					listener.dispatch(() -> {
+						if (Thread.currentThread() != eventThread)
+							statistics.getQueueWait().record(System.nanoTime() - dispatched);
+
+						this.handleMessage(listener, connection, receiver, data, message, statistics);
+					});
 				}
 
 			// Credits: https://github.com/VelocityPowered/BungeeQuack/blob/master/src/main/java/com/velocitypowered/bungeequack/BungeeQuack.java
@@ -236,6 +275,43 @@ final class ForwardingListener {
 		}
 	}
 
+	/*
+	 * Call the listener with the given message, either directly on the event thread
+	 * or later from its dispatch queue
+	 */
+	private void handleMessage(BungeeListener listener, ServerConnection connection, ChannelMessageSink receiver, byte[] data, IncomingMessage message, BungeeStatistics.Entry statistics) {
+		listener.setSender(connection);
+		listener.setReceiver(receiver);
+		listener.setData(data);
+
+		if (Debugger.isDebugged("bungee-all"))
+			Debugger.debug("bungee-all", "Channel " + message.getChannel() + " received " + message.getAction() + " message from " + message.getServerName() + " server.");
+
+		final long handlerStarted = System.nanoTime();
+
+		try {
+			listener.onMessageReceived(connection, message);
+
+		} catch (final Throwable t) {
+			Common.error(t,
+					Common.consoleLine(),
+					"ERROR COMMUNICATING WITH SPIGOT",
+					Common.consoleLine(),
+					"Ensure you are running latest version of",
+					"both proxy and Spigot plugins!",
+					"",
+					"Server: " + connection.getServerInfo().getName(),
+					"Error: " + t.getClass().getSimpleName() + ": " + t.getMessage());
+
+		} finally {
+			statistics.getHandlerTime().record(System.nanoTime() - handlerStarted);
+
+			listener.setSender(null);
+			listener.setReceiver(null);
+			listener.setData(null);
+		}
+	}
+
 	// Credits: https://github.com/VelocityPowered/BungeeQuack/blob/master/src/main/java/com/velocitypowered/bungeequack/BungeeQuack.java
 	private byte[] prepareForwardMessage(ByteArrayDataInput in) {
 		final String channel = in.readUTF();
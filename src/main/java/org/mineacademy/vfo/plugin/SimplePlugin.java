@@ -43,6 +43,7 @@ import org.mineacademy.vfo.settings.FileConfig;
 import org.mineacademy.vfo.settings.Lang;
 import org.mineacademy.vfo.settings.SimpleLocalization;
 import org.mineacademy.vfo.settings.SimpleSettings;
+import org.mineacademy.vfo.settings.YamlComments;
 import org.mineacademy.vfo.velocity.BungeeListener;
 import org.slf4j.Logger;
 
@@ -466,6 +467,7 @@ public abstract class SimplePlugin {
 			this.unregisterReloadables();
 
 			FileConfig.clearLoadedSections();
+			YamlComments.clearCache();
 
 			this.onPluginPreReload();
 
@@ -503,6 +505,9 @@ public abstract class SimplePlugin {
 		SimpleLocalization.resetLocalizationCall();
 
 		FolderWatcher.stopThreads();
+		FileConfig.flushPendingSaves();
+		BungeeListener.flushAllBroadcasts();
+		BungeeListener.shutdownDispatchers();
 
 		this.proxy.getScheduler().tasksByPlugin(this).forEach(ScheduledTask::cancel);
 		this.mainCommand = null;
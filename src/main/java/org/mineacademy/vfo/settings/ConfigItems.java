@@ -5,10 +5,20 @@ import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -19,6 +29,9 @@ import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.FileUtil;
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.collection.StrictMap;
+import org.mineacademy.vfo.collection.expiringmap.NamedThreadFactory;
+import org.mineacademy.vfo.exception.FoException;
+import org.mineacademy.vfo.model.FileWatchService;
 import org.mineacademy.vfo.remain.Remain;
 
 import lombok.NonNull;
@@ -35,8 +48,16 @@ public final class ConfigItems<T extends YamlConfig> {
 
 	/**
 	 * A list of all loaded items
+	 *
+	 * The map is never changed once published, we replace it as a whole
+	 * so that readers never see a half loaded map.
 	 */
-	private final StrictMap<String, T> loadedItemsMap = new StrictMap<>();
+	private volatile StrictMap<String, T> loadedItemsMap = new StrictMap<>();
+
+	/**
+	 * Loaded items by their lower case name and alias, replaced together with {@link #loadedItemsMap}
+	 */
+	private volatile Lookup<T> lookup = new Lookup<>(this.loadedItemsMap, null, Collections.emptyMap());
 
 	/**
 	 * The item type this class stores, such as "variable, "format", or "arena class"
@@ -68,6 +89,27 @@ public final class ConfigItems<T extends YamlConfig> {
 	 */
 	private final boolean singleFile;
 
+	/**
+	 * How many items from a folder can be loaded at the same time, see {@link #setParallelism(int)}
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * Returns another name each item can be found by, see {@link #setAliasFunction(Function)}
+	 */
+	private Function<T, String> aliasFunction;
+
+	/**
+	 * Reloads items when their files change, see {@link #watchForChanges()}
+	 */
+	private FileWatchService.Subscription watchSubscription;
+
+	/**
+	 * Items created while the custom loader in {@link #loadItems(Function)} runs,
+	 * published at once after it finished, null otherwise
+	 */
+	private StrictMap<String, T> loaderItems;
+
 	/**
 	 * Create a new config items instance
 	 *
@@ -143,12 +185,16 @@ public final class ConfigItems<T extends YamlConfig> {
 	/**
 	 * Load all item classes by creating a new instance of them and copying their folder from JAR to disk
 	 *
-	 * @param loader for advanced loading mechanisms, most people wont use this
+	 * When called again, only items whose files were added, removed or changed are created again
+	 * and the loaded items are replaced at once after all were loaded, see {@link FileConfig#hasChanged()}.
+	 *
+	 * @param loader for advanced loading mechanisms, most people wont use this. When set, you are responsible
+	 *               for loading all items by calling {@link #loadOrCreateItem(String)}, they replace the loaded items
+	 *               at once after the loader was called for all files
 	 */
 	public void loadItems(@Nullable Function<File, T> loader) {
-
-		// Clear old items
-		this.loadedItemsMap.clear();
+		final StrictMap<String, T> oldItems = this.loadedItemsMap;
+		final StrictMap<String, T> newItems = new StrictMap<>();
 
 		if (this.singleFile) {
 			final File file = FileUtil.extract(this.folder);
@@ -163,9 +209,26 @@ public final class ConfigItems<T extends YamlConfig> {
 				return;
 			}
 
+			// All items share the same file so either all or none of them need to be created again
+			boolean changed = false;
+
+			for (final T item : oldItems.values())
+				if (item.hasChanged()) {
+					changed = true;
+
+					break;
+				}
+
+			if (changed)
+				FileConfig.unloadSection(file);
+
 			if (config.isSet(this.type))
-				for (final String name : config.getConfigurationSection(this.type).getKeys())
-					this.loadOrCreateItem(name);
+				for (final String name : config.getConfigurationSection(this.type).getKeys()) {
+					final T oldItem = oldItems.get(name);
+
+					newItems.put(name, oldItem != null && !changed ? oldItem : this.createItem(name, null));
+				}
+
 		} else {
 			// Try copy items from our JAR
 			if (!FileUtil.getFile(this.folder).exists())
@@ -174,16 +237,86 @@ public final class ConfigItems<T extends YamlConfig> {
 			// Load items on our disk
 			final File[] files = FileUtil.getFiles(this.folder, "yml");
 
-			for (final File file : files)
-				if (loader != null)
-					loader.apply(file);
+			if (loader != null) {
+				final StrictMap<String, T> loadedItems = new StrictMap<>();
+
+				synchronized (this) {
+					this.loaderItems = loadedItems;
+				}
+
+				try {
+					for (final File file : files)
+						loader.apply(file);
+
+				} finally {
+					synchronized (this) {
+						this.loaderItems = null;
+					}
+				}
+
+				this.publish(loadedItems);
+				this.releaseUnused(oldItems.values(), loadedItems.values());
+				return;
+			}
+
+			final String[] names = new String[files.length];
+			final List<T> items = new ArrayList<>(Collections.nCopies(files.length, null));
+			final List<Integer> indexesToCreate = new ArrayList<>();
+
+			for (int index = 0; index < files.length; index++) {
+				final String name = FileUtil.getFileName(files[index]);
+				final T oldItem = oldItems.get(name);
+
+				names[index] = name;
+
+				if (oldItem != null && !oldItem.hasChanged())
+					items.set(index, oldItem);
 
 				else {
-					final String name = FileUtil.getFileName(file);
+					// Do not refill the section the old item still uses until we swap
+					FileConfig.unloadSection(files[index]);
 
-					this.loadOrCreateItem(name);
+					indexesToCreate.add(index);
 				}
+			}
+
+			this.createItems(names, items, indexesToCreate);
+
+			// Register in the same order as the files regardless of which finished loading first
+			for (int index = 0; index < files.length; index++)
+				newItems.put(names[index], items.get(index));
 		}
+
+		this.publish(newItems);
+		this.releaseUnused(oldItems.values(), newItems.values());
+	}
+
+	/*
+	 * Replace the loaded items, which must not be changed afterwards, and rebuild the lookup
+	 * reusing the aliases of items that were already loaded
+	 */
+	private synchronized void publish(StrictMap<String, T> items) {
+		this.publish(new Lookup<>(items, this.aliasFunction, this.lookup.aliases));
+	}
+
+	/*
+	 * Replace the loaded items with those of the given lookup
+	 */
+	private synchronized void publish(Lookup<T> lookup) {
+		this.loadedItemsMap = lookup.items;
+		this.lookup = lookup;
+	}
+
+	/*
+	 * Release shared defaults of old items that are not among the new ones
+	 */
+	private void releaseUnused(Collection<T> oldItems, Collection<T> newItems) {
+		final Set<T> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+		kept.addAll(newItems);
+
+		for (final T oldItem : oldItems)
+			if (!kept.contains(oldItem))
+				oldItem.releaseDefaults();
 	}
 
 	/**
@@ -208,9 +341,90 @@ public final class ConfigItems<T extends YamlConfig> {
 	 * @return
 	 */
 	public T loadOrCreateItem(@NonNull final String name, @Nullable Supplier<T> instantiator) {
-		Valid.checkBoolean(!this.isItemLoaded(name), "Item " + (this.type == null ? "" : this.type + " ") + "named " + name + " already exists! Available: " + this.getItemNames());
+		synchronized (this) {
+			final boolean loaded = this.loaderItems != null ? this.loaderItems.containsKey(name) : this.isItemLoaded(name);
+
+			Valid.checkBoolean(!loaded, "Item " + (this.type == null ? "" : this.type + " ") + "named " + name + " already exists! Available: " + this.getItemNames());
+		}
+
+		final T item = this.createItem(name, instantiator);
+
+		// Register
+		synchronized (this) {
+
+			// Published together with the rest once the custom loader finished
+			if (this.loaderItems != null)
+				this.loaderItems.put(name, item);
+
+			else {
+				final StrictMap<String, T> items = new StrictMap<>(this.loadedItemsMap.getSource());
+
+				items.put(name, item);
+				this.publish(items);
+			}
+		}
+
+		return item;
+	}
+
+	/*
+	 * Create items for the given indexes of names and put them to the same indexes in items,
+	 * in parallel if enabled. If any item fails, we throw after all others finished.
+	 */
+	private void createItems(String[] names, List<T> items, List<Integer> indexes) {
+		if (this.parallelism <= 1 || indexes.size() < 2) {
+			for (final int index : indexes)
+				items.set(index, this.createItem(names[index], null));
+
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, indexes.size()), new NamedThreadFactory("Loading " + this.folder + " %d"));
+
+		try {
+			final List<Future<T>> futures = new ArrayList<>();
+
+			for (final int index : indexes)
+				futures.add(executor.submit(() -> this.createItem(names[index], null)));
+
+			final List<String> failedNames = new ArrayList<>();
+			final List<Throwable> errors = new ArrayList<>();
+
+			for (int i = 0; i < futures.size(); i++) {
+				final int index = indexes.get(i);
+
+				try {
+					items.set(index, futures.get(i).get());
 
-		// Create a new instance of our item
+				} catch (final ExecutionException ex) {
+					failedNames.add(names[index]);
+					errors.add(ex.getCause());
+
+				} catch (final InterruptedException ex) {
+					Thread.currentThread().interrupt();
+
+					throw new FoException(ex, "Interrupted while loading " + this.folder);
+				}
+			}
+
+			if (!errors.isEmpty()) {
+				final FoException exception = new FoException(errors.get(0), "Failed to load " + errors.size() + " " + (this.type == null ? "item" : this.type) + "(s) from " + this.folder + ": " + failedNames);
+
+				for (int i = 1; i < errors.size(); i++)
+					exception.addSuppressed(errors.get(i));
+
+				throw exception;
+			}
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/*
+	 * Create a new instance of our item without registering it
+	 */
+	private T createItem(final String name, @Nullable Supplier<T> instantiator) {
 		T item = null;
 
 		try {
@@ -254,9 +468,6 @@ public final class ConfigItems<T extends YamlConfig> {
 				}
 			}
 
-			// Register
-			this.loadedItemsMap.put(name, item);
-
 		} catch (final Throwable t) {
 			Common.throwError(t, "Failed to load" + name + (this.singleFile ? "" : " from " + this.folder));
 		}
@@ -283,12 +494,19 @@ public final class ConfigItems<T extends YamlConfig> {
 		final T item = this.findItem(name);
 		Valid.checkNotNull(item, ChatUtil.capitalize(this.type) + " " + name + " not loaded. Available: " + this.getItemNames());
 
-		if (this.singleFile)
+		if (this.singleFile) {
 			item.save("", null);
-		else
+			item.releaseDefaults();
+
+		} else
 			item.deleteFile();
 
-		this.loadedItemsMap.remove(name);
+		synchronized (this) {
+			final StrictMap<String, T> items = new StrictMap<>(this.loadedItemsMap.getSource());
+
+			items.remove(name);
+			this.publish(items);
+		}
 	}
 
 	/**
@@ -308,15 +526,37 @@ public final class ConfigItems<T extends YamlConfig> {
 	 * @return
 	 */
 	public T findItem(@NonNull final String name) {
-		final T item = this.loadedItemsMap.get(name);
+		final Lookup<T> lookup = this.lookup;
+		final T item = lookup.items.get(name);
 
 		// Fallback to case insensitive
-		if (item == null)
-			for (final Map.Entry<String, T> entry : this.loadedItemsMap.entrySet())
-				if (entry.getKey().equalsIgnoreCase(name))
-					return entry.getValue();
+		return item != null ? item : lookup.byName.get(normalize(name));
+	}
 
-		return item;
+	/**
+	 * Return the item instance by its alias ignoring case, or null if not loaded
+	 * or no alias function has been set, see {@link #setAliasFunction(Function)}
+	 *
+	 * @param alias
+	 * @return
+	 */
+	public T findItemByAlias(@NonNull final String alias) {
+		return this.lookup.byAlias.get(normalize(alias));
+	}
+
+	/**
+	 * Set the function returning another name each item can be found by using {@link #findItemByAlias(String)},
+	 * such as a key stored inside of the item's file. Items returning null are not indexed.
+	 *
+	 * The alias of each item is read once when it is loaded or created.
+	 *
+	 * @param aliasFunction
+	 */
+	public void setAliasFunction(@Nullable Function<T, String> aliasFunction) {
+		synchronized (this) {
+			this.aliasFunction = aliasFunction;
+			this.publish(new Lookup<>(this.loadedItemsMap, aliasFunction, Collections.emptyMap()));
+		}
 	}
 
 	/**
@@ -336,4 +576,115 @@ public final class ConfigItems<T extends YamlConfig> {
 	public Set<String> getItemNames() {
 		return this.loadedItemsMap.keySet();
 	}
+
+	/**
+	 * Start calling {@link #loadItems()} shortly after item files are created, changed or removed on the disk,
+	 * such as when edited by hand. Only items whose files changed are created again. Call after {@link #loadItems()}.
+	 *
+	 * If any item cannot be loaded, for example because of a YAML syntax error, the error is logged
+	 * and all items loaded before are kept. Do not use this if you load items using a custom loader.
+	 *
+	 * There is no main thread on Velocity so items are loaded on a scheduler thread, use
+	 * {@link #watchForChanges(Executor)} to load them on the thread using these items instead.
+	 *
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public FileWatchService.Subscription watchForChanges() {
+		return this.watchForChanges(Runnable::run);
+	}
+
+	/**
+	 * Start calling {@link #loadItems()} shortly after item files are created, changed or removed on the disk,
+	 * see {@link #watchForChanges()}. Calling this again returns the same subscription.
+	 *
+	 * @param executor runs {@link #loadItems()}, such as on the thread using these items
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public synchronized FileWatchService.Subscription watchForChanges(@NonNull Executor executor) {
+		if (this.watchSubscription == null || !this.watchSubscription.isActive()) {
+			final File file = FileUtil.getFile(this.folder);
+			final Consumer<Set<File>> listener = files -> executor.execute(this::reloadChanged);
+
+			this.watchSubscription = this.singleFile ? FileWatchService.watchFile(file, listener) : FileWatchService.watchFolder(file, false, listener);
+		}
+
+		return this.watchSubscription;
+	}
+
+	/*
+	 * Reload items after their files changed on the disk, keeping the loaded ones on error
+	 */
+	private synchronized void reloadChanged() {
+		try {
+			this.loadItems();
+
+		} catch (final Throwable t) {
+			Common.warning("Keeping previously loaded " + (this.type == null ? "items" : this.type + " items") + " because they could not be reloaded: " + t);
+		}
+	}
+
+	/**
+	 * Set how many items from a folder can be loaded at the same time in {@link #loadItems()}.
+	 * Items are still registered in the order of their files and if any fails to load,
+	 * all errors are thrown together once the rest has finished and no items are replaced.
+	 *
+	 * Only enable this if your items can be safely created from different threads.
+	 * Defaults to 1 to load items one by one on the calling thread.
+	 *
+	 * @param parallelism
+	 */
+	public void setParallelism(int parallelism) {
+		Valid.checkBoolean(parallelism > 0, "Parallelism must be greater than 0, got " + parallelism);
+
+		this.parallelism = parallelism;
+	}
+
+	/*
+	 * Return the name used as a key in lookup maps
+	 */
+	private static String normalize(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Represents an immutable index of items by their lower case name and alias,
+	 * where the first item wins when more have the same name
+	 */
+	private static final class Lookup<T> {
+
+		/**
+		 * The items this lookup was built from
+		 */
+		private final StrictMap<String, T> items;
+
+		/**
+		 * Items by lower case name and alias
+		 */
+		private final Map<String, T> byName = new HashMap<>(), byAlias = new HashMap<>();
+
+		/**
+		 * The alias of each item, so that adding or removing an item
+		 * does not call the alias function for all others again
+		 */
+		private final Map<T, String> aliases = new IdentityHashMap<>();
+
+		private Lookup(StrictMap<String, T> items, @Nullable Function<T, String> aliasFunction, Map<T, String> knownAliases) {
+			this.items = items;
+
+			for (final Map.Entry<String, T> entry : items.entrySet()) {
+				final T item = entry.getValue();
+
+				this.byName.putIfAbsent(normalize(entry.getKey()), item);
+
+				if (aliasFunction != null) {
+					final String alias = knownAliases.containsKey(item) ? knownAliases.get(item) : aliasFunction.apply(item);
+
+					this.aliases.put(item, alias);
+
+					if (alias != null)
+						this.byAlias.putIfAbsent(normalize(alias), item);
+				}
+			}
+		}
+	}
 }
@@ -1,7 +1,10 @@
 package org.mineacademy.vfo.settings;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,6 +45,28 @@ public class ConfigSection {
 	 */
 	private final String fullPath;
 
+	/*
+	 * Full path to value index of all sections, only used on the root section.
+	 * Built lazily after enough lookups and dropped on every change.
+	 */
+	private volatile Map<String, Object> index;
+
+	/*
+	 * How many lookups walked the sections since the index was dropped, and
+	 * how big the index was the last time we built it
+	 */
+	private int lookupsWithoutIndex, lastIndexSize;
+
+	/*
+	 * Incremented on the root section when any section changes
+	 */
+	private volatile long modificationCount;
+
+	/*
+	 * Incremented when this section or any of its children changes
+	 */
+	private volatile long version;
+
 	ConfigSection() {
 		this.path = "";
 		this.fullPath = "";
@@ -104,6 +129,7 @@ public class ConfigSection {
 	 */
 	public final void clear() {
 		this.map.clear();
+		this.markChanged();
 	}
 
 	/**
@@ -154,6 +180,8 @@ public class ConfigSection {
 				this.map.remove(key);
 			else
 				this.map.put(key, value);
+
+			this.markChanged();
 		} else
 			section.store(key, value);
 	}
@@ -172,26 +200,108 @@ public class ConfigSection {
 		if (this.root == null)
 			throw new IllegalStateException("Cannot access section without a root");
 
+		if (this == this.root && isIndexable(path)) {
+			final Map<String, Object> index = this.getIndex();
+
+			if (index != null)
+				return index.get(path);
+		}
+
 		int leadingIndex = -1, trailingIndex;
 		ConfigSection section = this;
 		while ((leadingIndex = path.indexOf('.', trailingIndex = leadingIndex + 1)) != -1) {
 			final String currentPath = path.substring(trailingIndex, leadingIndex);
 
-			if (section.retrieve(currentPath) == null)
-				return null;
+			// Empty nodes such as in "a..b" point to the section itself
+			if (currentPath.isEmpty())
+				continue;
 
-			section = section.retrieveConfigurationSection(currentPath);
+			final Object value = section.map.get(currentPath);
 
-			if (section == null)
+			if (!(value instanceof ConfigSection))
 				return null;
+
+			section = (ConfigSection) value;
 		}
 
 		final String key = path.substring(trailingIndex);
 
-		if (section == this)
-			return this.map.get(key);
+		return key.isEmpty() ? section : section.map.get(key);
+	}
+
+	/*
+	 * Return the full path index, building it if we walked the sections often enough
+	 * since the last change to pay off, or null if lookups should walk the sections
+	 */
+	private Map<String, Object> getIndex() {
+		Map<String, Object> index = this.index;
+
+		if (index == null && ++this.lookupsWithoutIndex >= Math.max(16, this.lastIndexSize / 4)) {
+			index = new HashMap<>();
+			this.indexChildren(index, this, "");
+
+			this.lastIndexSize = index.size();
+			this.index = index;
+		}
+
+		return index;
+	}
+
+	/*
+	 * Put all values reachable using a path from the given section into the index
+	 */
+	private void indexChildren(Map<String, Object> index, ConfigSection section, String prefix) {
+		for (final Map.Entry<String, Object> entry : section.map.entrySet()) {
+			final String key = entry.getKey();
+
+			// Such keys cannot be reached by a path, see retrieve()
+			if (key.isEmpty() || key.indexOf('.') != -1)
+				continue;
+
+			final String path = prefix + key;
+			final Object value = entry.getValue();
+
+			index.put(path, value);
+
+			if (value instanceof ConfigSection)
+				this.indexChildren(index, (ConfigSection) value, path + ".");
+		}
+	}
+
+	/*
+	 * Called when the map of this section changed. Counts the change in this section and all
+	 * of its parents, and drops the full path index of the root.
+	 */
+	final void markChanged() {
+		for (ConfigSection section = this; section != null; section = section.parent)
+			section.version++;
+
+		final ConfigSection root = this.root;
+
+		root.index = null;
+		root.lookupsWithoutIndex = 0;
+		root.modificationCount++;
+	}
+
+	/*
+	 * Return how many times this section or any of its children changed, used by snapshots
+	 */
+	final long getVersion() {
+		return this.version;
+	}
+
+	/*
+	 * Return how many times this root section was changed, used to invalidate cached values
+	 */
+	final long getModificationCount() {
+		return this.modificationCount;
+	}
 
-		return section.retrieve(key);
+	/*
+	 * Return true if the path has no empty nodes and can be looked up in the index
+	 */
+	private static boolean isIndexable(String path) {
+		return path.charAt(0) != '.' && path.charAt(path.length() - 1) != '.' && !path.contains("..");
 	}
 
 	/**
@@ -235,11 +345,52 @@ public class ConfigSection {
 		if (section == this) {
 			final ConfigSection result = new ConfigSection(this, key);
 			this.map.put(key, result);
+			this.markChanged();
 			return result;
 		}
 		return section.createSection(key);
 	}
 
+	/*
+	 * Copy all keys and values from this section into the given one, see copyValue()
+	 */
+	final void copyTo(ConfigSection target) {
+		for (final Map.Entry<String, Object> entry : this.map.entrySet()) {
+			final Object value = entry.getValue();
+
+			if (value instanceof ConfigSection)
+				((ConfigSection) value).copyTo(target.createSection(entry.getKey()));
+			else
+				target.store(entry.getKey(), copyValue(value));
+		}
+	}
+
+	/*
+	 * Return a copy of the given value if it is a list or a map so that it can be
+	 * changed without changing the section it came from
+	 */
+	static Object copyValue(Object value) {
+		if (value instanceof List) {
+			final List<Object> copy = new ArrayList<>();
+
+			for (final Object element : (List<?>) value)
+				copy.add(copyValue(element));
+
+			return copy;
+		}
+
+		if (value instanceof Map) {
+			final Map<Object, Object> copy = new LinkedHashMap<>();
+
+			for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+				copy.put(entry.getKey(), copyValue(entry.getValue()));
+
+			return copy;
+		}
+
+		return value;
+	}
+
 	/*
 	 * Helper to map children keys to the given output
 	 */
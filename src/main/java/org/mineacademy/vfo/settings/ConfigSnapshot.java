@@ -0,0 +1,310 @@
+package org.mineacademy.vfo.settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.mineacademy.vfo.exception.FoException;
+
+import lombok.NonNull;
+
+/**
+ * Represents an immutable copy of a configuration section that can be safely
+ * read from any thread while the configuration is being changed or reloaded,
+ * see {@link FileConfig#getSnapshot()}.
+ * <p>
+ * Sections that did not change since the previous snapshot are shared with it
+ * instead of being copied again.
+ */
+public final class ConfigSnapshot {
+
+	/**
+	 * An empty snapshot
+	 */
+	static final ConfigSnapshot EMPTY = new ConfigSnapshot(null, -1, Collections.emptyMap());
+
+	/*
+	 * The section and its version this snapshot was made from, used to share unchanged sections
+	 */
+	private final ConfigSection source;
+	private final long version;
+
+	/*
+	 * The keys and values, values can be another snapshot
+	 */
+	private final Map<String, Object> values;
+
+	private ConfigSnapshot(ConfigSection source, long version, Map<String, Object> values) {
+		this.source = source;
+		this.version = version;
+		this.values = values;
+	}
+
+	// ------------------------------------------------------------------------------------
+	// Getting values
+	// ------------------------------------------------------------------------------------
+
+	/**
+	 * Return the value at the given path, or null if not set.
+	 * Sections are returned as {@link ConfigSnapshot}, lists and maps cannot be changed.
+	 *
+	 * @param path
+	 * @return
+	 */
+	@Nullable
+	public Object get(@NonNull String path) {
+		ConfigSnapshot snapshot = this;
+		int start = 0, dot;
+
+		while ((dot = path.indexOf('.', start)) != -1) {
+			final Object value = snapshot.values.get(path.substring(start, dot));
+
+			if (!(value instanceof ConfigSnapshot))
+				return null;
+
+			snapshot = (ConfigSnapshot) value;
+			start = dot + 1;
+		}
+
+		return snapshot.values.get(path.substring(start));
+	}
+
+	/**
+	 * Return the value at the given path converted to the given type, or null if not set.
+	 * Numbers are converted between each other and anything can be read as a String.
+	 *
+	 * @param <T>
+	 * @param path
+	 * @param type
+	 * @return
+	 * @throws FoException if the value cannot be converted to the type
+	 */
+	@Nullable
+	public <T> T get(@NonNull String path, @NonNull Class<T> type) {
+		final Object value = this.get(path);
+
+		if (value == null || type.isInstance(value))
+			return (T) value;
+
+		if (value instanceof Number) {
+			final Number number = (Number) value;
+
+			if (type == Integer.class)
+				return (T) Integer.valueOf(number.intValue());
+
+			if (type == Long.class)
+				return (T) Long.valueOf(number.longValue());
+
+			if (type == Double.class)
+				return (T) Double.valueOf(number.doubleValue());
+
+			if (type == Float.class)
+				return (T) Float.valueOf(number.floatValue());
+		}
+
+		if (type == String.class && !(value instanceof ConfigSnapshot))
+			return (T) value.toString();
+
+		throw new FoException("Key '" + path + "' must be " + type.getSimpleName() + " but got " + value.getClass().getSimpleName() + ": '" + value + "'");
+	}
+
+	/**
+	 * Return the value at the given path or the default if not set
+	 *
+	 * @param <T>
+	 * @param path
+	 * @param type
+	 * @param def
+	 * @return
+	 */
+	public <T> T getOrDefault(@NonNull String path, @NonNull Class<T> type, T def) {
+		final T value = this.get(path, type);
+
+		return value != null ? value : def;
+	}
+
+	/**
+	 * Return a String at the given path, or null if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public String getString(String path) {
+		return this.get(path, String.class);
+	}
+
+	/**
+	 * Return a boolean at the given path, or false if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public boolean getBoolean(String path) {
+		return this.getOrDefault(path, Boolean.class, false);
+	}
+
+	/**
+	 * Return an integer at the given path, or 0 if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public int getInteger(String path) {
+		return this.getOrDefault(path, Integer.class, 0);
+	}
+
+	/**
+	 * Return a long at the given path, or 0 if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public long getLong(String path) {
+		return this.getOrDefault(path, Long.class, 0L);
+	}
+
+	/**
+	 * Return a double at the given path, or 0 if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public double getDouble(String path) {
+		return this.getOrDefault(path, Double.class, 0D);
+	}
+
+	/**
+	 * Return an unmodifiable list at the given path, or an empty list if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	public List<?> getList(String path) {
+		return this.getOrDefault(path, List.class, Collections.emptyList());
+	}
+
+	/**
+	 * Return the section at the given path, or null if not set
+	 *
+	 * @param path
+	 * @return
+	 */
+	@Nullable
+	public ConfigSnapshot getSection(String path) {
+		return this.get(path, ConfigSnapshot.class);
+	}
+
+	/**
+	 * Return true if the given path has a value
+	 *
+	 * @param path
+	 * @return
+	 */
+	public boolean isSet(String path) {
+		return this.get(path) != null;
+	}
+
+	/**
+	 * Return the keys in this section, including keys of all child sections if deep is true
+	 *
+	 * @param deep
+	 * @return
+	 */
+	public Set<String> getKeys(boolean deep) {
+		if (!deep)
+			return Collections.unmodifiableSet(this.values.keySet());
+
+		final Set<String> keys = new LinkedHashSet<>();
+		this.collectKeys(keys, "");
+
+		return keys;
+	}
+
+	/*
+	 * Add keys of this and all child sections with the given prefix
+	 */
+	private void collectKeys(Set<String> keys, String prefix) {
+		for (final Map.Entry<String, Object> entry : this.values.entrySet()) {
+			keys.add(prefix + entry.getKey());
+
+			if (entry.getValue() instanceof ConfigSnapshot)
+				((ConfigSnapshot) entry.getValue()).collectKeys(keys, prefix + entry.getKey() + ".");
+		}
+	}
+
+	/**
+	 * Return true if there are no keys in this section
+	 *
+	 * @return
+	 */
+	public boolean isEmpty() {
+		return this.values.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "ConfigSnapshot" + this.values;
+	}
+
+	// ------------------------------------------------------------------------------------
+	// Static
+	// ------------------------------------------------------------------------------------
+
+	/*
+	 * Create a snapshot of the given section, reusing parts of the previous snapshot that did not change.
+	 * Must be called on the thread changing the section.
+	 */
+	static ConfigSnapshot of(@NonNull ConfigSection section, @Nullable ConfigSnapshot previous) {
+		final long version = section.getVersion();
+
+		if (previous != null && previous.source == section && previous.version == version)
+			return previous;
+
+		final Map<String, Object> values = new LinkedHashMap<>();
+
+		for (final Map.Entry<String, Object> entry : section.map.entrySet()) {
+			final Object value = entry.getValue();
+
+			if (value instanceof ConfigSection) {
+				final Object previousValue = previous != null ? previous.values.get(entry.getKey()) : null;
+
+				values.put(entry.getKey(), of((ConfigSection) value, previousValue instanceof ConfigSnapshot ? (ConfigSnapshot) previousValue : null));
+
+			} else
+				values.put(entry.getKey(), freeze(value));
+		}
+
+		return new ConfigSnapshot(section, version, Collections.unmodifiableMap(values));
+	}
+
+	/*
+	 * Return an unmodifiable copy of the given value if it is a list or a map
+	 */
+	private static Object freeze(Object value) {
+		if (value instanceof List) {
+			final List<Object> copy = new ArrayList<>();
+
+			for (final Object element : (List<?>) value)
+				copy.add(freeze(element));
+
+			return Collections.unmodifiableList(copy);
+		}
+
+		if (value instanceof Map) {
+			final Map<Object, Object> copy = new LinkedHashMap<>();
+
+			for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+				copy.put(entry.getKey(), freeze(entry.getValue()));
+
+			return Collections.unmodifiableMap(copy);
+		}
+
+		return value;
+	}
+}
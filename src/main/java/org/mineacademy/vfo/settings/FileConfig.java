@@ -2,23 +2,37 @@ package org.mineacademy.vfo.settings;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.Writer;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import javax.annotation.Nullable;
@@ -34,6 +48,7 @@ import org.mineacademy.vfo.exception.EventHandledException;
 import org.mineacademy.vfo.exception.FoException;
 import org.mineacademy.vfo.model.BoxedMessage;
 import org.mineacademy.vfo.model.ConfigSerializable;
+import org.mineacademy.vfo.model.FileWatchService;
 import org.mineacademy.vfo.model.IsInList;
 import org.mineacademy.vfo.model.SimpleTime;
 import org.mineacademy.vfo.model.Tuple;
@@ -41,9 +56,12 @@ import org.mineacademy.vfo.plugin.SimplePlugin;
 import org.mineacademy.vfo.remain.Remain;
 
 import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.scheduler.ScheduledTask;
 
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 /**
@@ -54,8 +72,39 @@ public abstract class FileConfig {
 	/**
 	 * Used to synchronize loading/saving and forces multiple instances that all
 	 * use the same file use the same content to set/save it.
+	 *
+	 * Sections are only weakly referenced so that files nobody uses anymore,
+	 * such as player data of players who left, are forgotten automatically.
+	 */
+	private static final Map<String, SectionReference> loadedSections = new ConcurrentHashMap<>();
+
+	/**
+	 * Sections that were garbage collected, removed from {@link #loadedSections} on the next load
+	 */
+	private static final ReferenceQueue<ConfigSection> collectedSections = new ReferenceQueue<>();
+
+	/**
+	 * Parsed default files from the plugin jar by their path, shared by all configurations using them.
+	 * These sections are never changed, we copy values from them.
 	 */
-	private static final Map<String, ConfigSection> loadedSections = new HashMap<>();
+	private static final Map<String, SharedDefaults> sharedDefaults = new ConcurrentHashMap<>();
+
+	/**
+	 * Configurations waiting for their delayed save, see {@link #getSaveDelayTicks()}
+	 *
+	 * Compared by identity since configurations are equal by their file name only.
+	 */
+	private static final Set<FileConfig> pendingSaves = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+	/**
+	 * Locks making writes to the same file wait for each other, picked by the hash of its absolute path
+	 */
+	private static final Object[] fileLocks = new Object[64];
+
+	static {
+		for (int i = 0; i < fileLocks.length; i++)
+			fileLocks[i] = new Object();
+	}
 
 	/**
 	 * Represents "null" which you can use as convenience shortcut in loading config
@@ -87,6 +136,12 @@ public abstract class FileConfig {
 	@Nullable
 	String defaultsPath;
 
+	/*
+	 * The shared defaults we hold a reference to, if any
+	 */
+	@Nullable
+	private SharedDefaults sharedDefaultsEntry;
+
 	/**
 	 * Optional config header
 	 */
@@ -123,6 +178,46 @@ public abstract class FileConfig {
 	 */
 	private boolean saving = false;
 
+	/*
+	 * The content the pending delayed save writes, null if none is pending
+	 */
+	private PendingSave pendingSave;
+
+	/*
+	 * The task running the pending delayed save
+	 */
+	private ScheduledTask pendingSaveTask;
+
+	/*
+	 * Incremented for each save so that writes of older saves finishing late are skipped
+	 */
+	private long saveSequence;
+
+	/*
+	 * The sequence of the last save written to the disk
+	 */
+	private volatile long writtenSequence = -1;
+
+	/*
+	 * The file as it was when we last loaded or saved it, null if never
+	 */
+	private volatile FileStamp loadedStamp;
+
+	/*
+	 * The section modification count when we last loaded or saved the file
+	 */
+	private volatile long loadedModificationCount = -1;
+
+	/*
+	 * The last published snapshot, see getSnapshot()
+	 */
+	private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+
+	/*
+	 * Reloads this configuration when its file changes, see watchForChanges()
+	 */
+	private FileWatchService.Subscription watchSubscription;
+
 	protected FileConfig() {
 	}
 
@@ -191,8 +286,13 @@ public abstract class FileConfig {
 	 * @return
 	 */
 	public final <T> T get(@NonNull String path, Class<T> type, T def, Object... deserializeParams) {
+		return this.getAbsolute(this.buildPathPrefix(path), type, def, deserializeParams);
+	}
 
-		path = this.buildPathPrefix(path);
+	/*
+	 * Implementation of get() for the path with the path prefix already added
+	 */
+	private <T> T getAbsolute(String path, Class<T> type, T def, Object... deserializeParams) {
 
 		// Copy defaults if not set and log about this change
 		this.copyDefault(path, type);
@@ -230,7 +330,12 @@ public abstract class FileConfig {
 			Valid.checkNotNull(object, "Inbuilt config " + this.getFileName() + " lacks " + (object == null ? "key" : object.getClass().getSimpleName()) + " at \"" + path + "\". Is it outdated?");
 
 			Common.log("&7Updating " + this.getFileName() + " at &b\'&f" + path + "&b\' &7-> " + (object == null ? "&ckey removed" : "&b\'&f" + object.toString().replace("\n", ", ") + "&b\'") + "&r");
-			this.section.store(path, object);
+
+			// Defaults are shared, never put their sections or lists into our section
+			if (object instanceof ConfigSection)
+				((ConfigSection) object).copyTo(this.section.createSection(path));
+			else
+				this.section.store(path, ConfigSection.copyValue(object));
 			this.shouldSave = true;
 		}
 	}
@@ -250,6 +355,39 @@ public abstract class FileConfig {
 		}
 	}
 
+	/**
+	 * Resolves the given path and type once into a binding that remembers the value and
+	 * only reads it again after the configuration was changed or reloaded.
+	 * Use this for values read very often. Path prefix is added now, see setPathPrefix(String).
+	 *
+	 * @param <T>
+	 * @param path
+	 * @param type
+	 * @param deserializeParams
+	 * @return
+	 */
+	public final <T> Binding<T> bind(final String path, final Class<T> type, Object... deserializeParams) {
+		return this.bind(path, type, null, deserializeParams);
+	}
+
+	/**
+	 * Resolves the given path and type once into a binding that remembers the value and
+	 * only reads it again after the configuration was changed or reloaded.
+	 * Use this for values read very often. Path prefix is added now, see setPathPrefix(String).
+	 *
+	 * @param <T>
+	 * @param path
+	 * @param type
+	 * @param def
+	 * @param deserializeParams
+	 * @return
+	 *
+	 * @see #get(String, Class, Object, Object...)
+	 */
+	public final <T> Binding<T> bind(@NonNull final String path, @NonNull final Class<T> type, final T def, Object... deserializeParams) {
+		return new Binding<>(this, this.buildPathPrefix(path), type, def, deserializeParams);
+	}
+
 	// ------------------------------------------------------------------------------------
 	// Getting values helpers
 	// ------------------------------------------------------------------------------------
@@ -1018,27 +1156,41 @@ public abstract class FileConfig {
 			Valid.checkBoolean(!this.loading, "Called load(" + file + ") on already being loaded configuration!");
 			this.loading = true;
 
-			final FileInputStream stream = new FileInputStream(file);
 			final String path = file.getAbsolutePath();
-			boolean loadedBefore = false;
-			ConfigSection section = loadedSections.get(path);
+			final ConfigSection newSection = new ConfigSection();
+			final ConfigSection section = registerSection(path, newSection);
+			final boolean loadedBefore = section != newSection;
 
-			if (section == null) {
-				section = new ConfigSection();
-
-				loadedSections.put(path, section);
-			}
-
-			else
-				loadedBefore = true;
+			// Reloading the same file into the same section we left untouched since
+			final FileStamp previousStamp = this.section == section && section.getModificationCount() == this.loadedModificationCount ? this.loadedStamp : null;
 
 			this.section = section;
 			this.file = file;
 
 			if (loadedBefore && !this.alwaysLoad) {
 				// Do not load
-			} else
-				this.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+			} else {
+				final long lastModified = file.lastModified();
+				final long length = file.length();
+
+				if (previousStamp != null && !this.alwaysReloadUnchanged() && previousStamp.matches(path, lastModified, length))
+					return;
+
+				// Only hash up front when the file might have been touched without changing
+				if (previousStamp != null && !this.alwaysReloadUnchanged()) {
+					final FileStamp stamp = new FileStamp(path, lastModified, length, digest(file));
+
+					if (previousStamp.hasSameContent(stamp)) {
+						this.loadedStamp = stamp;
+
+						return;
+					}
+				}
+
+				// Forget the stamp until we load successfully
+				this.loadedStamp = null;
+				this.loadedStamp = new FileStamp(path, lastModified, length, this.load(file.toPath()));
+			}
 
 			try {
 				this.onLoad();
@@ -1048,6 +1200,8 @@ public abstract class FileConfig {
 				// Handled successfully in the polymorphism pipeline
 			}
 
+			this.loadedModificationCount = section.getModificationCount();
+
 			if (this.shouldSave || this.alwaysSaveOnLoad()) {
 				this.loading = false;
 				this.save();
@@ -1055,7 +1209,11 @@ public abstract class FileConfig {
 				this.shouldSave = false;
 			}
 
+			this.publishSnapshot();
+
 		} catch (final Exception ex) {
+			this.loadedStamp = null;
+
 			Common.throwError(ex, "Error loading " + file + ": " + ex);
 
 		} finally {
@@ -1063,30 +1221,198 @@ public abstract class FileConfig {
 		}
 	}
 
+	/**
+	 * Return true if the file on the disk or the values in this configuration were
+	 * changed since it was last loaded or saved, or if the file no longer exists.
+	 *
+	 * The file size and last modification date are compared first, the content
+	 * is only hashed if they differ to catch files that were touched but not changed.
+	 *
+	 * @return
+	 */
+	public final boolean hasChanged() {
+		return this.section.getModificationCount() != this.loadedModificationCount || this.hasFileChanged();
+	}
+
 	/*
-	 * Helper to load configuration from a reader
+	 * Return true if the file on the disk changed since it was last loaded or saved
 	 */
-	private final void load(@NonNull Reader reader) {
+	private boolean hasFileChanged() {
+		final FileStamp stamp = this.loadedStamp;
+
+		if (stamp == null || this.file == null || !this.file.exists())
+			return true;
+
+		final long lastModified = this.file.lastModified();
+		final long length = this.file.length();
+
+		if (stamp.matches(this.file.getAbsolutePath(), lastModified, length))
+			return false;
+
 		try {
-			final BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
-			final StringBuilder builder = new StringBuilder();
+			return !stamp.hasSameContent(new FileStamp(this.file.getAbsolutePath(), lastModified, length, digest(this.file)));
 
-			try {
-				String line;
+		} catch (final IOException ex) {
+			return true;
+		}
+	}
 
-				while ((line = input.readLine()) != null) {
-					builder.append(line);
-					builder.append('\n');
-				}
+	/**
+	 * Start reloading this configuration automatically shortly after its file is changed on the disk,
+	 * such as when edited by hand. Calling this again returns the same subscription.
+	 *
+	 * If the file cannot be parsed, for example because of a YAML syntax error, the error is logged
+	 * and the values loaded before are kept. Values set but not saved are lost when the file is reloaded.
+	 *
+	 * There is no main thread on Velocity so the reload runs on a scheduler thread, use
+	 * {@link #watchForChanges(Executor)} to reload on the thread changing this configuration instead.
+	 *
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public final FileWatchService.Subscription watchForChanges() {
+		return this.watchForChanges(Runnable::run);
+	}
 
-			} finally {
-				input.close();
-			}
+	/**
+	 * Start reloading this configuration automatically shortly after its file is changed on the disk,
+	 * see {@link #watchForChanges()}. Calling this again returns the same subscription.
+	 *
+	 * @param executor runs the reload and {@link #onLoad()}, such as on the thread changing this configuration
+	 * @return the subscription, cancel it to stop watching
+	 */
+	public final synchronized FileWatchService.Subscription watchForChanges(@NonNull Executor executor) {
+		Valid.checkNotNull(this.file, "Cannot watch for changes before loading a file!");
+
+		if (this.watchSubscription == null || !this.watchSubscription.isActive())
+			this.watchSubscription = FileWatchService.watchFile(this.file, files -> executor.execute(this::reloadChanged));
+
+		return this.watchSubscription;
+	}
+
+	/*
+	 * Stop watching the file for changes
+	 */
+	private synchronized void stopWatching() {
+		if (this.watchSubscription != null) {
+			this.watchSubscription.cancel();
+
+			this.watchSubscription = null;
+		}
+	}
+
+	/*
+	 * Reload after the file changed on the disk, keeping the current values if it cannot be parsed
+	 */
+	private synchronized void reloadChanged() {
+		if (this.file == null || !this.file.exists() || this.saving || this.loading || !this.hasFileChanged())
+			return;
+
+		try {
+			this.reload();
+
+			Common.log("Reloaded " + this.getFileName() + " after it was changed on the disk.");
+
+		} catch (final Throwable t) {
+			Common.warning("Keeping the previous version of " + this.getFileName() + " because it could not be reloaded: " + t);
+		}
+	}
+
+	/**
+	 * Return an immutable copy of all values in this configuration that can be read from any thread,
+	 * for example from async tasks while the configuration is being reloaded. Path prefix is not applied.
+	 *
+	 * The snapshot is replaced at once after the configuration has been loaded or saved, by the thread
+	 * doing so. Call {@link #publishSnapshot()} to replace it after calling set without saving.
+	 *
+	 * @return
+	 */
+	public final ConfigSnapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Replace the snapshot returned by {@link #getSnapshot()} with the current values, copying only
+	 * sections that changed since the last snapshot.
+	 *
+	 * Only call this from the thread changing the configuration, since the values are read without locking.
+	 * Loading and saving call this on the thread doing so, delayed saves before handing the file content
+	 * to the async writer and automatic reloads on the executor given to {@link #watchForChanges(Executor)}.
+	 */
+	public final synchronized void publishSnapshot() {
+		this.snapshot = ConfigSnapshot.of(this.section, this.snapshot);
+	}
+
+	/**
+	 * Return true if {@link #reload()} should load the file and call {@link #onLoad()}
+	 * even if neither the file nor the values in this configuration changed since.
+	 *
+	 * Return false to skip reloading unchanged files, only do this if your {@link #onLoad()}
+	 * does not read anything else than this file, such as other configurations or the time.
+	 *
+	 * @return defaults to true
+	 */
+	protected boolean alwaysReloadUnchanged() {
+		return true;
+	}
+
+	/*
+	 * Return the hash of the given file content used to detect changes
+	 */
+	static byte[] digest(byte[] content) {
+		return newDigest().digest(content);
+	}
+
+	/*
+	 * Return the hash of the given file, reading it in chunks
+	 */
+	private static byte[] digest(File file) throws IOException {
+		try (DigestInputStream input = new DigestInputStream(Files.newInputStream(file.toPath()), newDigest())) {
+			drain(input);
+
+			return input.getMessageDigest().digest();
+		}
+	}
 
-			this.loadFromString(builder.toString());
+	/*
+	 * Create a new digest used to detect changes
+	 */
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("MD5");
+
+		} catch (final NoSuchAlgorithmException ex) {
+			throw new FoException(ex, "Unable to hash file content");
+		}
+	}
+
+	/*
+	 * Read the rest of the given stream
+	 */
+	private static void drain(InputStream input) throws IOException {
+		final byte[] buffer = new byte[8192];
+
+		while (input.read(buffer) != -1) {
+			// Discard
+		}
+	}
+
+	/*
+	 * Helper to load configuration streaming from the given file without reading it into memory first,
+	 * returning the hash of its content
+	 */
+	private final byte[] load(@NonNull Path path) {
+		try (DigestInputStream input = new DigestInputStream(Files.newInputStream(path), newDigest())) {
+			this.loadFromReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+
+			// Hash whatever the parser did not need to read
+			drain(input);
+
+			return input.getMessageDigest().digest();
 
 		} catch (final Exception ex) {
 			Remain.sneaky(ex);
+
+			return null;
 		}
 	}
 
@@ -1097,6 +1423,15 @@ public abstract class FileConfig {
 	 */
 	abstract void loadFromString(@NonNull String contents);
 
+	/**
+	 * Implementation by specific configuration type to load configuration from the given reader,
+	 * without reading it all into memory first.
+	 *
+	 * @param reader
+	 * @throws IOException
+	 */
+	abstract void loadFromReader(@NonNull BufferedReader reader) throws IOException;
+
 	/**
 	 * Called automatically when the configuration has been loaded, used to load your
 	 * fields in your class here.
@@ -1130,58 +1465,218 @@ public abstract class FileConfig {
 	/**
 	 * Saves the configuration to the given file, updating the file stored in this configuration.
 	 *
+	 * If {@link #getSaveDelayTicks()} is set, the file content is still created on the calling thread
+	 * but written later on an async thread, and all saves until then are merged into one write.
+	 * Call {@link #flush()} to write it now.
+	 *
 	 * @param file
 	 */
 	public final void save(@NonNull File file) {
 		if (this.saving)
 			return;
 
-		try {
-			if (this.loading) {
-				this.shouldSave = true;
+		if (this.loading) {
+			this.shouldSave = true;
 
-				return;
-			}
+			return;
+		}
 
-			this.onPreSave();
+		final int delayTicks = this.getSaveDelayTicks();
 
-			if (this.canSaveFile()) {
+		if (delayTicks >= 0 && SimplePlugin.hasInstance()) {
+			final PendingSave save = this.prepareSave(file);
 
-				try {
-					this.saving = true;
-					this.onSave();
+			if (save != null)
+				this.scheduleSave(save, delayTicks);
 
-				} catch (final EventHandledException ex) {
-					// Ignore, indicated that we exited polymorphism inheritance prematurely by intention
+		} else
+			this.saveNow(file);
+	}
 
-				} finally {
-					this.saving = false;
-				}
+	/*
+	 * Remember the content and schedule the delayed save unless one is already pending
+	 */
+	private synchronized void scheduleSave(PendingSave save, int delayTicks) {
+		this.pendingSave = save;
 
-				final File parent = file.getCanonicalFile().getParentFile();
+		if (this.pendingSaveTask == null) {
+			pendingSaves.add(this);
 
-				if (parent != null)
-					parent.mkdirs();
+			this.pendingSaveTask = Common.runLaterAsync(delayTicks, () -> {
+				try {
+					this.flush();
 
-				final String data = this.saveToString();
+				} catch (final Throwable t) {
+					Common.error(t, "Failed to save " + save.getFile());
+				}
+			});
+		}
+	}
 
-				if (data != null)
-					try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
-						writer.write(data);
+	/**
+	 * Writes the pending delayed save now, if any, see {@link #getSaveDelayTicks()}
+	 */
+	public final void flush() {
+		final PendingSave save = this.cancelPendingSave();
 
-					} catch (final Exception ex) {
-						Remain.sneaky(ex);
-					}
+		if (save != null)
+			try {
+				this.write(save);
 
-				// Update file
-				this.file = file;
+			} catch (final IOException ex) {
+				Remain.sneaky(ex);
 			}
+	}
+
+	/*
+	 * Cancel the pending delayed save and return the content it would write, or null if none
+	 */
+	private synchronized PendingSave cancelPendingSave() {
+		final PendingSave save = this.pendingSave;
+
+		if (this.pendingSaveTask != null) {
+			this.pendingSaveTask.cancel();
+
+			this.pendingSaveTask = null;
+		}
+
+		this.pendingSave = null;
+		pendingSaves.remove(this);
+
+		return save;
+	}
+
+	/*
+	 * Save the configuration to the given file on this thread
+	 */
+	private void saveNow(File file) {
+		try {
+			final PendingSave save = this.prepareSave(file);
+
+			if (save != null)
+				this.write(save);
 
 		} catch (final Exception ex) {
 			Remain.sneaky(ex);
 		}
 	}
 
+	/*
+	 * Create the file content from our values on this thread, the only one reading them,
+	 * or return null if the file should not be saved
+	 */
+	private synchronized PendingSave prepareSave(File file) {
+		this.onPreSave();
+
+		if (!this.canSaveFile())
+			return null;
+
+		try {
+			this.saving = true;
+			this.onSave();
+
+		} catch (final EventHandledException ex) {
+			// Ignore, indicated that we exited polymorphism inheritance prematurely by intention
+
+		} finally {
+			this.saving = false;
+		}
+
+		final PendingSave save = new PendingSave(file, this.saveToString(), this.section.getModificationCount(), ++this.saveSequence);
+
+		// Update file
+		this.file = file;
+
+		this.publishSnapshot();
+
+		return save;
+	}
+
+	/*
+	 * Write the content to the disk from any thread, unless a newer save was written already
+	 */
+	private void write(PendingSave save) throws IOException {
+		final File file = save.getFile();
+
+		synchronized (lockFor(file.toPath().toAbsolutePath())) {
+			if (save.getSequence() < this.writtenSequence)
+				return;
+
+			final File parent = file.getCanonicalFile().getParentFile();
+
+			if (parent != null)
+				parent.mkdirs();
+
+			final String data = save.getData();
+
+			if (data != null)
+				writeAtomically(file, data);
+
+			// What is on the disk now matches our values when they were saved
+			this.loadedStamp = new FileStamp(file.getAbsolutePath(), file.lastModified(), file.length(), data != null ? digest(data.getBytes(StandardCharsets.UTF_8)) : null);
+			this.loadedModificationCount = save.getModificationCount();
+			this.writtenSequence = save.getSequence();
+		}
+	}
+
+	/*
+	 * Write the data into a temporary file next to the given one, sync it to the disk and
+	 * then move it over the given file so that a crash never leaves a half-written file
+	 */
+	static void writeAtomically(File file, String data) throws IOException {
+		writeAtomically(file, data.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/*
+	 * See writeAtomically(File, String)
+	 */
+	static void writeAtomically(File file, byte[] data) throws IOException {
+		final Path target = file.toPath().toAbsolutePath();
+		final Path temp = target.resolveSibling("." + file.getName() + ".tmp");
+
+		synchronized (lockFor(target)) {
+			try {
+				try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+					final ByteBuffer buffer = ByteBuffer.wrap(data);
+
+					while (buffer.hasRemaining())
+						channel.write(buffer);
+
+					channel.force(true);
+				}
+
+				try {
+					Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+				} catch (final AtomicMoveNotSupportedException ex) {
+					Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+				}
+
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	/*
+	 * Return the lock for writing the file at the given absolute path
+	 */
+	private static Object lockFor(Path target) {
+		return fileLocks[(target.hashCode() & Integer.MAX_VALUE) % fileLocks.length];
+	}
+
+	/**
+	 * Return how many ticks to wait after {@link #save()} before writing the file on an async thread.
+	 * All saves made in the meantime are merged into one write, use this for configs changed very often.
+	 *
+	 * Returns -1 by default to save immediately on the calling thread.
+	 *
+	 * @return
+	 */
+	protected int getSaveDelayTicks() {
+		return -1;
+	}
+
 	/**
 	 * Return true if we should always save the file after loading it.
 	 *
@@ -1271,12 +1766,37 @@ public abstract class FileConfig {
 	public final void deleteFile() {
 		Valid.checkNotNull(this.file, "Cannot unregister null file before settings were loaded!");
 
+		this.cancelPendingSave();
+		this.releaseDefaults();
+		this.stopWatching();
+
 		if (this.file.exists())
 			this.file.delete();
 
 		loadedSections.remove(this.file.getAbsolutePath());
 	}
 
+	/**
+	 * Stop sharing values of this configuration with configurations loading the same file
+	 * from now on and release its default file. Call this when you no longer need
+	 * a configuration, such as player data when the player leaves.
+	 *
+	 * This instance can still be used and saved. Pending saves are not cancelled
+	 * but the file is no longer watched for changes, see {@link #watchForChanges()}.
+	 */
+	public final void unload() {
+		this.releaseDefaults();
+		this.stopWatching();
+
+		if (this.file != null) {
+			final String path = this.file.getAbsolutePath();
+			final SectionReference reference = loadedSections.get(path);
+
+			if (reference != null && reference.get() == this.section)
+				loadedSections.remove(path, reference);
+		}
+	}
+
 	// ------------------------------------------------------------------------------------
 	// Path prefix
 	// ------------------------------------------------------------------------------------
@@ -1413,12 +1933,309 @@ public abstract class FileConfig {
 	@Deprecated // internal use only
 	public static final void clearLoadedSections() {
 		loadedSections.clear();
+		sharedDefaults.clear();
+	}
+
+	/*
+	 * Use the shared parsed default file at the given path in the plugin jar as defaults,
+	 * parsing it with the given function only if no other configuration uses it yet
+	 */
+	final void useSharedDefaults(String path, Function<String, ConfigSection> parser) {
+		final SharedDefaults current = this.sharedDefaultsEntry;
+
+		// Still using the current one
+		if (current != null && current.path.equals(path) && sharedDefaults.get(path) == current) {
+			this.defaults = current.getSection(parser);
+			this.defaultsPath = path;
+
+			return;
+		}
+
+		SharedDefaults shared;
+
+		// Retry if the entry was released by its last user right before we got it
+		do
+			shared = sharedDefaults.computeIfAbsent(path, SharedDefaults::new);
+		while (!shared.acquire());
+
+		this.releaseDefaults();
+
+		this.sharedDefaultsEntry = shared;
+		this.defaults = shared.getSection(parser);
+		this.defaultsPath = path;
+	}
+
+	/*
+	 * Release our reference to the shared defaults, removing them from the cache if nobody else uses them
+	 */
+	final void releaseDefaults() {
+		final SharedDefaults shared = this.sharedDefaultsEntry;
+
+		if (shared != null) {
+			this.sharedDefaultsEntry = null;
+
+			if (shared.release())
+				sharedDefaults.remove(shared.path, shared);
+		}
+	}
+
+	/*
+	 * Return the section already used for the given file path, or register and return the given new section
+	 */
+	private static ConfigSection registerSection(String path, ConfigSection newSection) {
+		expungeCollectedSections();
+
+		while (true) {
+			final SectionReference reference = loadedSections.get(path);
+			final ConfigSection section = reference != null ? reference.get() : null;
+
+			if (section != null)
+				return section;
+
+			final SectionReference newReference = new SectionReference(path, newSection);
+
+			if (reference == null ? loadedSections.putIfAbsent(path, newReference) == null : loadedSections.replace(path, reference, newReference))
+				return newSection;
+		}
+	}
+
+	/*
+	 * Remove entries of garbage collected sections
+	 */
+	private static void expungeCollectedSections() {
+		Reference<? extends ConfigSection> reference;
+
+		while ((reference = collectedSections.poll()) != null)
+			loadedSections.remove(((SectionReference) reference).path, reference);
+	}
+
+	/*
+	 * Make the next configuration loading the given file use a new section instead of
+	 * refilling the one shared with configurations already loaded from it
+	 */
+	static final void unloadSection(File file) {
+		loadedSections.remove(file.getAbsolutePath());
+	}
+
+	/**
+	 * Writes all pending delayed saves now, called automatically when the plugin reloads or stops.
+	 *
+	 * @see #getSaveDelayTicks()
+	 */
+	public static final void flushPendingSaves() {
+		final List<FileConfig> configs;
+
+		synchronized (pendingSaves) {
+			configs = new ArrayList<>(pendingSaves);
+		}
+
+		for (final FileConfig config : configs)
+			try {
+				config.flush();
+
+			} catch (final Throwable t) {
+				Common.error(t, "Failed to save " + config.getFileName());
+			}
 	}
 
 	// ------------------------------------------------------------------------------------
 	// Classes
 	// ------------------------------------------------------------------------------------
 
+	/*
+	 * Represents a weak reference to a loaded section remembering its file path
+	 */
+	private static final class SectionReference extends WeakReference<ConfigSection> {
+		private final String path;
+
+		private SectionReference(String path, ConfigSection section) {
+			super(section, collectedSections);
+
+			this.path = path;
+		}
+	}
+
+	/*
+	 * Represents a parsed default file shared by all configurations using it
+	 */
+	@RequiredArgsConstructor
+	private static final class SharedDefaults {
+		private final String path;
+
+		/*
+		 * How many configurations use this, -1 once released by the last one
+		 */
+		private final AtomicInteger references = new AtomicInteger();
+
+		private volatile ConfigSection section;
+
+		/*
+		 * Return the parsed section, parsing it on first call
+		 */
+		ConfigSection getSection(Function<String, ConfigSection> parser) {
+			ConfigSection section = this.section;
+
+			if (section == null)
+				synchronized (this) {
+					section = this.section;
+
+					if (section == null) {
+						section = parser.apply(this.path);
+
+						this.section = section;
+					}
+				}
+
+			return section;
+		}
+
+		/*
+		 * Add a reference, returning false if this entry was already released for good
+		 */
+		boolean acquire() {
+			for (;;) {
+				final int references = this.references.get();
+
+				if (references < 0)
+					return false;
+
+				if (this.references.compareAndSet(references, references + 1))
+					return true;
+			}
+		}
+
+		/*
+		 * Remove a reference, returning true if it was the last one
+		 */
+		boolean release() {
+			return this.references.decrementAndGet() == 0 && this.references.compareAndSet(0, -1);
+		}
+	}
+
+	/*
+	 * Represents the file content created by a save, waiting to be written
+	 */
+	@Getter
+	@RequiredArgsConstructor
+	private static final class PendingSave {
+		private final File file;
+
+		@Nullable
+		private final String data;
+
+		private final long modificationCount;
+		private final long sequence;
+	}
+
+	/*
+	 * Represents the size, modification date and content hash of a loaded file
+	 */
+	@RequiredArgsConstructor
+	private static final class FileStamp {
+		private final String path;
+		private final long lastModified;
+		private final long length;
+
+		@Nullable
+		private final byte[] digest;
+
+		/*
+		 * Return true if the file has the same path, modification date and size
+		 */
+		boolean matches(String path, long lastModified, long length) {
+			return this.path.equals(path) && this.lastModified == lastModified && this.length == length;
+		}
+
+		/*
+		 * Return true if the other stamp is of the same file with the same content
+		 */
+		boolean hasSameContent(FileStamp other) {
+			return this.path.equals(other.path) && this.length == other.length && this.digest != null && Arrays.equals(this.digest, other.digest);
+		}
+	}
+
+	/**
+	 * Represents a config value at a path resolved to the given type, see {@link FileConfig#bind(String, Class, Object...)}
+	 *
+	 * The value is deserialized on the first read and reused until the configuration
+	 * is changed by calling set or reloaded.
+	 *
+	 * @param <T>
+	 */
+	public static final class Binding<T> {
+
+		/**
+		 * The configuration we read from
+		 */
+		private final FileConfig config;
+
+		/**
+		 * The path with path prefix already added
+		 */
+		@Getter
+		private final String path;
+
+		/**
+		 * The type to deserialize the value into
+		 */
+		@Getter
+		private final Class<T> type;
+
+		/*
+		 * The default value and deserialize parameters, see get()
+		 */
+		private final T def;
+		private final Object[] deserializeParams;
+
+		/*
+		 * The last value read together with what it was read from
+		 */
+		private volatile Resolved<T> resolved;
+
+		private Binding(FileConfig config, String path, Class<T> type, T def, Object[] deserializeParams) {
+			this.config = config;
+			this.path = path;
+			this.type = type;
+			this.def = def;
+			this.deserializeParams = deserializeParams;
+		}
+
+		/**
+		 * Return the value, reading it from the configuration only if it changed since the last call
+		 *
+		 * @return
+		 */
+		public T get() {
+			final ConfigSection section = this.config.section;
+			Resolved<T> resolved = this.resolved;
+
+			if (resolved == null || resolved.section != section || resolved.modificationCount != section.getModificationCount()) {
+				final T value = this.config.getAbsolute(this.path, this.type, this.def, this.deserializeParams);
+
+				// Read the count after getting since copying defaults changes the section
+				resolved = new Resolved<>(value, section, section.getModificationCount());
+				this.resolved = resolved;
+			}
+
+			return resolved.value;
+		}
+
+		@Override
+		public String toString() {
+			return "Binding{" + this.config.getFileName() + " " + this.path + " -> " + this.type.getSimpleName() + "}";
+		}
+
+		/*
+		 * Holds the value with what it was read from so that all three are published together
+		 */
+		@RequiredArgsConstructor
+		private static final class Resolved<T> {
+			private final T value;
+			private final ConfigSection section;
+			private final long modificationCount;
+		}
+	}
+
 	/**
 	 * Language-specific helper to deal with different cases when i.e. counting:
 	 *
@@ -1478,6 +2295,10 @@ public abstract class FileConfig {
 		public static AccusativeHelper of(String singular, String plural) {
 			return new AccusativeHelper(singular + ", " + plural);
 		}
+
+		public static AccusativeHelper of(String singular, String plural, String genitivePlural) {
+			return new AccusativeHelper(singular + ", " + plural + ", " + genitivePlural);
+		}
 	}
 
 	/**
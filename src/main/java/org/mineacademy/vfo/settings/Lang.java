@@ -1,7 +1,13 @@
 package org.mineacademy.vfo.settings;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
 
 import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.Messenger;
@@ -10,6 +16,10 @@ import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.collection.SerializedMap;
 import org.mineacademy.vfo.model.JavaScriptExecutor;
 import org.mineacademy.vfo.model.SimpleComponent;
+import org.mineacademy.vfo.model.Variables;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Represents the new way of internalization, with the greatest
@@ -25,6 +35,11 @@ public final class Lang extends YamlConfig {
 	 */
 	private static Lang instance;
 
+	/**
+	 * Compiled keys by their path, cleared when the file is loaded
+	 */
+	private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
 	/*
 	 * Create a new instance and load the given file
 	 */
@@ -32,6 +47,14 @@ public final class Lang extends YamlConfig {
 		this.loadConfiguration(filePath);
 	}
 
+	/**
+	 * @see org.mineacademy.vfo.settings.FileConfig#onLoad()
+	 */
+	@Override
+	protected void onLoad() {
+		this.templates.clear();
+	}
+
 	/*
 	 * Return a key from our localization, failing if not exists
 	 */
@@ -42,6 +65,21 @@ public final class Lang extends YamlConfig {
 		return key;
 	}
 
+	/*
+	 * Return a compiled key from our localization, failing if not exists
+	 */
+	private Template getTemplate(String path) {
+		Template template = this.templates.get(path);
+
+		if (template == null) {
+			template = Template.compile(this.getStringStrict(path));
+
+			this.templates.put(path, template);
+		}
+
+		return template;
+	}
+
 	// ------------------------------------------------------------------------------------------------------------
 	// Static access - loading
 	// ------------------------------------------------------------------------------------------------------------
@@ -254,31 +292,25 @@ public final class Lang extends YamlConfig {
 	public static String of(String path, Object... variables) {
 		checkInit();
 
-		String key = instance.getStringStrict(path);
-
-		key = Messenger.replacePrefixes(key);
-		key = translate(key, variables);
-
-		return key;
+		return instance.getTemplate(path).render(translate(variables));
 	}
 
 	/*
-	 * Replace placeholders in the message
+	 * Serialize the variables to replace {0} {1} etc. with
 	 */
-	private static String translate(String key, Object... variables) {
-		Valid.checkNotNull(key, "Cannot translate a null key with variables " + Common.join(variables));
+	private static String[] translate(Object... variables) {
+		final String[] translated = new String[variables != null ? variables.length : 0];
 
-		if (variables != null)
-			for (int i = 0; i < variables.length; i++) {
-				Object variable = variables[i];
+		for (int i = 0; i < translated.length; i++) {
+			Object variable = variables[i];
 
-				variable = Common.getOrDefaultStrict(SerializeUtil.serialize(variable), SimpleLocalization.NONE);
-				Valid.checkNotNull(variable, "Failed to replace {" + i + "} as " + variable + " (raw = " + variables[i] + ")");
+			variable = Common.getOrDefaultStrict(SerializeUtil.serialize(variable), SimpleLocalization.NONE);
+			Valid.checkNotNull(variable, "Failed to replace {" + i + "} as " + variable + " (raw = " + variables[i] + ")");
 
-				key = key.replace("{" + i + "}", variable.toString());
-			}
+			translated[i] = variable.toString();
+		}
 
-		return key;
+		return translated;
 	}
 
 	/*
@@ -290,4 +322,188 @@ public final class Lang extends YamlConfig {
 		if (instance == null)
 			init();
 	}
+
+	// ------------------------------------------------------------------------------------------------------------
+	// Classes
+	// ------------------------------------------------------------------------------------------------------------
+
+	/**
+	 * Represents a localization key split into literal text, prefix variables
+	 * such as {warn_prefix} and {0} {1} etc. variables so that it can be rendered
+	 * in one pass. Prefixes are read when rendering so changing them takes effect immediately.
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class Template {
+
+		/**
+		 * Prefix variables and how to get their current value, see {@link Messenger#replacePrefixes(String)}
+		 */
+		private static final Map<String, Supplier<String>> PREFIXES = new HashMap<>();
+
+		static {
+			PREFIXES.put("plugin_prefix", () -> SimpleSettings.PLUGIN_PREFIX);
+			PREFIXES.put("info_prefix", Messenger::getInfoPrefix);
+			PREFIXES.put("prefix_info", Messenger::getInfoPrefix);
+			PREFIXES.put("success_prefix", Messenger::getSuccessPrefix);
+			PREFIXES.put("prefix_success", Messenger::getSuccessPrefix);
+			PREFIXES.put("warn_prefix", Messenger::getWarnPrefix);
+			PREFIXES.put("prefix_warn", Messenger::getWarnPrefix);
+			PREFIXES.put("error_prefix", Messenger::getErrorPrefix);
+			PREFIXES.put("prefix_error", Messenger::getErrorPrefix);
+			PREFIXES.put("question_prefix", Messenger::getQuestionPrefix);
+			PREFIXES.put("prefix_question", Messenger::getQuestionPrefix);
+			PREFIXES.put("announce_prefix", Messenger::getAnnouncePrefix);
+			PREFIXES.put("prefix_announce", Messenger::getAnnouncePrefix);
+		}
+
+		/**
+		 * The parts in order, either a String, an Integer index of the variable or a {@link PrefixPart}
+		 */
+		private final Object[] parts;
+
+		/**
+		 * The length of all literal parts, used to size the result
+		 */
+		private final int literalLength;
+
+		/*
+		 * Render this template with the given {0} {1} etc. variables
+		 */
+		private String render(String[] variables) {
+			final StringBuilder builder = new StringBuilder(this.literalLength + 16 * (variables.length + 1));
+
+			for (final Object part : this.parts)
+				if (part instanceof String)
+					builder.append((String) part);
+
+				else if (part instanceof Integer) {
+					final int index = (Integer) part;
+
+					if (index < variables.length)
+						builder.append(variables[index]);
+					else
+						builder.append('{').append(index).append('}');
+
+				} else
+					((PrefixPart) part).appendTo(builder);
+
+			return builder.toString();
+		}
+
+		/*
+		 * Split the given key into parts, matching prefix variables the same way
+		 * as Replacer#replaceVariables(String, SerializedMap) does
+		 */
+		private static Template compile(String message) {
+			final List<Object> parts = new ArrayList<>();
+			final Matcher matcher = Variables.BRACKET_PLACEHOLDER_PATTERN.matcher(message);
+			int literalStart = 0;
+
+			while (matcher.find()) {
+				String variable = matcher.group(1);
+
+				final boolean frontSpace = variable.startsWith("+");
+				final boolean backSpace = variable.endsWith("+") && variable.length() > (frontSpace ? 1 : 0);
+
+				if (frontSpace)
+					variable = variable.substring(1);
+
+				if (backSpace)
+					variable = variable.substring(0, variable.length() - 1);
+
+				final Supplier<String> prefix = PREFIXES.get(variable);
+
+				if (prefix != null) {
+					addLiteral(parts, message.substring(literalStart, matcher.start()));
+					parts.add(new PrefixPart(prefix, frontSpace, backSpace));
+
+					literalStart = matcher.end();
+				}
+			}
+
+			addLiteral(parts, message.substring(literalStart));
+
+			int literalLength = 0;
+
+			for (final Object part : parts)
+				if (part instanceof String)
+					literalLength += ((String) part).length();
+
+			return new Template(parts.toArray(), literalLength);
+		}
+
+		/*
+		 * Add the given text splitting out {0} {1} etc. variables
+		 */
+		private static void addLiteral(List<Object> parts, String text) {
+			int literalStart = 0;
+			int open = text.indexOf('{');
+
+			while (open != -1) {
+				int close = open + 1;
+
+				while (close < text.length() && close - open <= 9 && text.charAt(close) >= '0' && text.charAt(close) <= '9')
+					close++;
+
+				// Only the exact form such as {1} is a variable, {01} is left as it is
+				final boolean leadingZero = close > open + 2 && text.charAt(open + 1) == '0';
+
+				if (close > open + 1 && !leadingZero && close < text.length() && text.charAt(close) == '}') {
+					if (open > literalStart)
+						parts.add(text.substring(literalStart, open));
+
+					parts.add(Integer.parseInt(text.substring(open + 1, close)));
+					literalStart = close + 1;
+				}
+
+				open = text.indexOf('{', open + 1);
+			}
+
+			if (literalStart < text.length())
+				parts.add(text.substring(literalStart));
+		}
+	}
+
+	/**
+	 * Represents a prefix variable in a {@link Template}
+	 */
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	private static final class PrefixPart {
+
+		/**
+		 * The current prefix value
+		 */
+		private final Supplier<String> prefix;
+
+		/**
+		 * Should we add a space before or after non empty prefix, from {+variable+}
+		 */
+		private final boolean frontSpace, backSpace;
+
+		/*
+		 * Append the current colorized prefix
+		 */
+		private void appendTo(StringBuilder builder) {
+			final String value = this.prefix.get();
+
+			if (value == null) {
+				builder.append("null");
+
+				return;
+			}
+
+			if (value.isEmpty())
+				return;
+
+			final boolean emptyColorless = Common.stripColors(value).isEmpty();
+
+			if (this.frontSpace && !emptyColorless)
+				builder.append(' ');
+
+			builder.append(Common.colorize(value));
+
+			if (this.backSpace && !emptyColorless)
+				builder.append(' ');
+		}
+	}
 }
@@ -0,0 +1,368 @@
+package org.mineacademy.vfo.settings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.mineacademy.vfo.FileUtil;
+import org.mineacademy.vfo.collection.StrictList;
+import org.mineacademy.vfo.debug.Debugger;
+import org.mineacademy.vfo.plugin.SimplePlugin;
+import org.mineacademy.vfo.remain.CompChatColor;
+import org.mineacademy.vfo.settings.FileConfig.AccusativeHelper;
+
+/**
+ * Stores static field values of a {@link YamlStaticConfig} class in a compact binary file
+ * and restores them on the next start without parsing any YAML, as long as the file on the disk,
+ * the default file in the JAR, the plugin version and the fields stayed the same.
+ *
+ * See {@link YamlStaticConfig#useCompiledCache()}
+ */
+final class StaticConfigCache {
+
+	/**
+	 * The folder in the plugin folder where we store cached classes
+	 */
+	private static final String FOLDER = "cache/";
+
+	/**
+	 * Change when the format changes to ignore old cache files
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/*
+	 * Value type markers
+	 */
+	private static final byte STRING = 1, BOOLEAN = 2, INTEGER = 3, LONG = 4, DOUBLE = 5, FLOAT = 6, SHORT = 7, BYTE = 8, CHARACTER = 9,
+			ENUM = 10, DATE_FORMAT = 11, CHAT_COLOR = 12, ACCUSATIVE = 13, ARRAY_LIST = 14, STRICT_LIST = 15, HASH_SET = 16, LINKED_HASH_SET = 17;
+
+	/**
+	 * The static config class
+	 */
+	private final Class<?> configClass;
+
+	/**
+	 * All static non-final fields in the class, its parent config class and all inner classes,
+	 * in the order init() methods are invoked
+	 */
+	private final List<Field> fields = new ArrayList<>();
+
+	/**
+	 * The cache file
+	 */
+	private final File cacheFile;
+
+	StaticConfigCache(Class<? extends YamlStaticConfig> configClass) {
+		this.configClass = configClass;
+		this.cacheFile = FileUtil.getFile(FOLDER + configClass.getName() + ".bin");
+
+		if (YamlStaticConfig.class.isAssignableFrom(configClass.getSuperclass()))
+			this.collectFields(configClass.getSuperclass());
+
+		this.collectFields(configClass);
+	}
+
+	/*
+	 * Add all static non-final fields in the class and its inner classes
+	 */
+	private void collectFields(Class<?> clazz) {
+		if (clazz == YamlStaticConfig.class)
+			return;
+
+		for (final Field field : clazz.getDeclaredFields()) {
+			final int modifiers = field.getModifiers();
+
+			if (Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+				field.setAccessible(true);
+
+				this.fields.add(field);
+			}
+		}
+
+		for (final Class<?> innerClass : clazz.getDeclaredClasses())
+			this.collectFields(innerClass);
+	}
+
+	/**
+	 * Set all fields from the cache if it exists and matches the given files
+	 *
+	 * @param from the default file path in the JAR, if any
+	 * @param file the file on the disk
+	 * @return true if the fields were restored
+	 */
+	boolean restore(@Nullable String from, File file) {
+		if (!this.cacheFile.exists() || !file.exists())
+			return false;
+
+		try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(this.cacheFile.toPath())))) {
+			final byte[] hash = new byte[input.readUnsignedByte()];
+			input.readFully(hash);
+
+			if (!Arrays.equals(hash, this.hash(from, file)))
+				return false;
+
+			// Read all values before setting any of them
+			final Object[] values = new Object[this.fields.size()];
+
+			for (int i = 0; i < values.length; i++)
+				values[i] = this.readValue(input);
+
+			for (int i = 0; i < values.length; i++)
+				this.fields.get(i).set(null, values[i]);
+
+			return true;
+
+		} catch (final Throwable t) {
+			Debugger.debug("config-cache", "Ignoring cache of " + this.configClass.getSimpleName() + ": " + t);
+
+			return false;
+		}
+	}
+
+	/**
+	 * Store all fields to the cache together with the hash of the given files,
+	 * skipped if any field has a type we cannot store
+	 *
+	 * @param from the default file path in the JAR, if any
+	 * @param file the file on the disk
+	 */
+	void store(@Nullable String from, File file) {
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream output = new DataOutputStream(bytes);
+			final byte[] hash = this.hash(from, file);
+
+			output.writeByte(hash.length);
+			output.write(hash);
+
+			for (final Field field : this.fields)
+				if (!this.writeValue(output, field.get(null))) {
+					Debugger.debug("config-cache", "Not caching " + this.configClass.getSimpleName() + ", field " + field.getName() + " has unsupported type " + field.getType().getSimpleName());
+
+					this.cacheFile.delete();
+					return;
+				}
+
+			output.flush();
+
+			this.cacheFile.getParentFile().mkdirs();
+			FileConfig.writeAtomically(this.cacheFile, bytes.toByteArray());
+
+		} catch (final Throwable t) {
+			Debugger.debug("config-cache", "Failed to cache " + this.configClass.getSimpleName() + ": " + t);
+		}
+	}
+
+	/*
+	 * Return the hash of everything the field values depend on
+	 */
+	private byte[] hash(@Nullable String from, File file) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream output = new DataOutputStream(bytes);
+
+		output.writeInt(FORMAT_VERSION);
+		output.writeUTF(SimplePlugin.getVersion());
+		output.writeUTF(this.configClass.getName());
+
+		for (final Field field : this.fields)
+			output.writeUTF(field.getDeclaringClass().getName() + "#" + field.getName() + ":" + field.getGenericType().getTypeName());
+
+		if (from != null)
+			output.write(String.join("\n", FileUtil.getInternalFileContent(from)).getBytes(StandardCharsets.UTF_8));
+
+		output.write(Files.readAllBytes(file.toPath()));
+		output.flush();
+
+		return FileConfig.digest(bytes.toByteArray());
+	}
+
+	/*
+	 * Write the value with its type marker, returning false if the type is not supported
+	 */
+	private boolean writeValue(DataOutputStream output, Object value) throws IOException {
+		if (value instanceof String) {
+			output.writeByte(STRING);
+			writeString(output, (String) value);
+
+		} else if (value instanceof Boolean) {
+			output.writeByte(BOOLEAN);
+			output.writeBoolean((Boolean) value);
+
+		} else if (value instanceof Integer) {
+			output.writeByte(INTEGER);
+			output.writeInt((Integer) value);
+
+		} else if (value instanceof Long) {
+			output.writeByte(LONG);
+			output.writeLong((Long) value);
+
+		} else if (value instanceof Double) {
+			output.writeByte(DOUBLE);
+			output.writeDouble((Double) value);
+
+		} else if (value instanceof Float) {
+			output.writeByte(FLOAT);
+			output.writeFloat((Float) value);
+
+		} else if (value instanceof Short) {
+			output.writeByte(SHORT);
+			output.writeShort((Short) value);
+
+		} else if (value instanceof Byte) {
+			output.writeByte(BYTE);
+			output.writeByte((Byte) value);
+
+		} else if (value instanceof Character) {
+			output.writeByte(CHARACTER);
+			output.writeChar((Character) value);
+
+		} else if (value instanceof Enum) {
+			output.writeByte(ENUM);
+			writeString(output, ((Enum<?>) value).getDeclaringClass().getName());
+			writeString(output, ((Enum<?>) value).name());
+
+		} else if (value != null && value.getClass() == SimpleDateFormat.class) {
+			output.writeByte(DATE_FORMAT);
+			writeString(output, ((SimpleDateFormat) value).toPattern());
+
+		} else if (value instanceof CompChatColor) {
+			output.writeByte(CHAT_COLOR);
+			writeString(output, ((CompChatColor) value).toSaveableString());
+
+		} else if (value instanceof AccusativeHelper) {
+			final AccusativeHelper helper = (AccusativeHelper) value;
+
+			output.writeByte(ACCUSATIVE);
+			writeString(output, helper.formatWithoutCount(1));
+			writeString(output, helper.formatWithoutCount(2));
+			writeString(output, helper.formatWithoutCount(5));
+
+		} else if (value != null && (value.getClass() == ArrayList.class || value.getClass() == HashSet.class || value.getClass() == LinkedHashSet.class)) {
+			final Collection<?> collection = (Collection<?>) value;
+
+			output.writeByte(value.getClass() == ArrayList.class ? ARRAY_LIST : value.getClass() == HashSet.class ? HASH_SET : LINKED_HASH_SET);
+			output.writeInt(collection.size());
+
+			for (final Object element : collection)
+				if (!this.writeValue(output, element))
+					return false;
+
+		} else if (value instanceof StrictList) {
+			final StrictList<?> list = (StrictList<?>) value;
+
+			output.writeByte(STRICT_LIST);
+			output.writeInt(list.size());
+
+			for (final Object element : list)
+				if (!this.writeValue(output, element))
+					return false;
+
+		} else
+			return false;
+
+		return true;
+	}
+
+	/*
+	 * Read a value written by writeValue()
+	 */
+	private Object readValue(DataInputStream input) throws IOException, ReflectiveOperationException {
+		final byte type = input.readByte();
+
+		switch (type) {
+			case STRING:
+				return readString(input);
+
+			case BOOLEAN:
+				return input.readBoolean();
+
+			case INTEGER:
+				return input.readInt();
+
+			case LONG:
+				return input.readLong();
+
+			case DOUBLE:
+				return input.readDouble();
+
+			case FLOAT:
+				return input.readFloat();
+
+			case SHORT:
+				return input.readShort();
+
+			case BYTE:
+				return input.readByte();
+
+			case CHARACTER:
+				return input.readChar();
+
+			case ENUM: {
+				final Class<?> enumClass = Class.forName(readString(input), false, this.configClass.getClassLoader());
+
+				return Enum.valueOf(enumClass.asSubclass(Enum.class), readString(input));
+			}
+
+			case DATE_FORMAT:
+				return new SimpleDateFormat(readString(input));
+
+			case CHAT_COLOR:
+				return CompChatColor.of(readString(input));
+
+			case ACCUSATIVE:
+				return AccusativeHelper.of(readString(input), readString(input), readString(input));
+
+			case ARRAY_LIST:
+			case HASH_SET:
+			case LINKED_HASH_SET:
+			case STRICT_LIST: {
+				final int size = input.readInt();
+				final List<Object> elements = new ArrayList<>(size);
+
+				for (int i = 0; i < size; i++)
+					elements.add(this.readValue(input));
+
+				return type == ARRAY_LIST ? elements : type == HASH_SET ? new HashSet<>(elements) : type == LINKED_HASH_SET ? new LinkedHashSet<>(elements) : new StrictList<>(elements);
+			}
+
+			default:
+				throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	/*
+	 * Write a string of any length as UTF-8
+	 */
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/*
+	 * Read a string written by writeString()
+	 */
+	private static String readString(DataInputStream input) throws IOException {
+		final byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
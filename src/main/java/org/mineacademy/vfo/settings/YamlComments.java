@@ -2,18 +2,18 @@ package org.mineacademy.vfo.settings;
 
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.FileUtil;
@@ -23,6 +23,7 @@ import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 /**
  * A class to update/add new sections/keys to your config while keeping your current values and keeping your comments
@@ -38,6 +39,11 @@ import lombok.NonNull;
  */
 public final class YamlComments {
 
+	/**
+	 * The parsed default files from the plugin jar by their path
+	 */
+	private static final Map<String, JarDefaults> jarDefaults = new ConcurrentHashMap<>();
+
 	/**
 	 * Update a yaml file from a resource inside your plugin jar
 	 *
@@ -67,32 +73,51 @@ public final class YamlComments {
 	 * @throws IOException If an IOException occurs
 	 */
 	public static void writeComments(@NonNull String jarPath, @NonNull File diskFile, @NonNull List<String> ignoredSections) throws IOException {
+
+		// Only replace the file once everything was written successfully
+		FileConfig.writeAtomically(diskFile, renderComments(jarPath, diskFile, ignoredSections));
+	}
+
+	/**
+	 * Return the content {@link #writeComments(String, File, List)} would write to the disk file,
+	 * without writing it. Unused entries are still moved to the unused/ folder right away.
+	 *
+	 * @param jarPath The yaml file name to update from, typically config.yml
+	 * @param diskFile The yaml file to update
+	 * @param ignoredSections The sections to ignore from being forcefully updated & comments set
+	 * @return
+	 *
+	 * @throws IOException If an IOException occurs
+	 */
+	static String renderComments(@NonNull String jarPath, @NonNull File diskFile, @NonNull List<String> ignoredSections) throws IOException {
 		final ConfigurationProvider provider = ConfigurationProvider.getProvider(YamlConfiguration.class);
-		final List<String> newLines = FileUtil.getInternalFileContent(jarPath);
+		final JarDefaults defaults = getJarDefaults(jarPath);
 
 		final Configuration oldConfig = provider.load(diskFile);
-		final Configuration newConfig = provider.load(String.join("\n", FileUtil.getInternalFileContent(jarPath)));
+		final Configuration newConfig = copyOf(defaults.config);
 
-		final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(diskFile), StandardCharsets.UTF_8));
+		final StringWriter output = new StringWriter();
+		final BufferedWriter writer = new BufferedWriter(output);
 
 		// ignoredSections can ONLY contain configurations sections
 		for (final String ignoredSection : ignoredSections)
 			if (newConfig.isSet(ignoredSection))
 				Valid.checkBoolean(newConfig.get(ignoredSection) instanceof Configuration, "Can only ignore config sections in " + jarPath + " (file " + diskFile + ")" + " not '" + ignoredSection + "' that is " + newConfig.get(ignoredSection));
 
+		final PrefixTrie ignoredPrefixes = new PrefixTrie();
+
+		for (final String ignoredSection : ignoredSections)
+			ignoredPrefixes.add(ignoredSection);
+
 		// Save keys added to config that are not in default and would otherwise be lost
 		final List<String> newKeys = getDeepKeys(newConfig);
+		final Set<String> newKeySet = new HashSet<>(newKeys);
 		final Map<String, Object> removedKeys = new HashMap<>();
 
-		outerLoop:
 		for (final Map.Entry<String, Object> oldEntry : getMap(oldConfig).entrySet()) {
 			final String oldKey = oldEntry.getKey();
 
-			for (final String ignoredKey : ignoredSections)
-				if (oldKey.startsWith(ignoredKey))
-					continue outerLoop;
-
-			if (!newKeys.contains(oldKey))
+			if (ignoredPrefixes.findPrefixOf(oldKey) == -1 && !newKeySet.contains(oldKey))
 				removedKeys.put(oldKey, oldEntry.getValue());
 		}
 
@@ -114,55 +139,56 @@ public final class YamlComments {
 		dumperOptions.setWidth(4096);
 
 		final Yaml yaml = new Yaml(dumperOptions);
-		final Map<String, String> comments = parseComments(newLines, ignoredSections, oldConfig, yaml);
+		final Map<String, String> comments = new HashMap<>(defaults.comments);
 
-		write(newConfig, oldConfig, comments, ignoredSections, writer, yaml);
+		write(newConfig, oldConfig, newKeys, comments, ignoredSections, ignoredPrefixes, writer, yaml);
+
+		return output.toString();
 	}
 
 	// Write method doing the work.
 	// It checks if key has a comment associated with it and writes comment then the key and value
-	private static void write(Configuration newConfig, Configuration oldConfig, Map<String, String> comments, List<String> ignoredSections, BufferedWriter writer, Yaml yaml) throws IOException {
+	private static void write(Configuration newConfig, Configuration oldConfig, List<String> newKeys, Map<String, String> comments, List<String> ignoredSections, PrefixTrie ignoredPrefixes, BufferedWriter writer, Yaml yaml) throws IOException {
 
-		final Set<String> copyAllowed = new HashSet<>();
-		final Set<String> reverseCopy = new HashSet<>();
+		final PrefixTrie copyAllowed = new PrefixTrie();
+		final PrefixTrie reverseCopy = new PrefixTrie();
 
 		outerloop:
-		for (final String key : getDeepKeys(newConfig)) {
+		for (final String key : newKeys) {
 
 			checkIgnore:
 			{
 
-				for (final String allowed : copyAllowed)
-					if (key.startsWith(allowed))
-						break checkIgnore;
+				if (copyAllowed.findPrefixOf(key) != -1)
+					break checkIgnore;
 
 				// These keys are already written below
-				for (final String allowed : reverseCopy)
-					if (key.startsWith(allowed))
-						continue outerloop;
+				if (reverseCopy.findPrefixOf(key) != -1)
+					continue outerloop;
+
+				// The first ignored section the key starts with, in the order they were given
+				final int ignoredIndex = ignoredPrefixes.findPrefixOf(key);
 
-				for (final String ignoredSection : ignoredSections) {
-					if (key.equals(ignoredSection))
-						// Write from new to old config
-						if ((!oldConfig.isSet(ignoredSection) || oldConfig.getConfigurationSection(ignoredSection).getKeys().isEmpty())) {
-							copyAllowed.add(ignoredSection);
+				if (ignoredIndex != -1) {
+					final String ignoredSection = ignoredSections.get(ignoredIndex);
 
-							break;
-						}
+					if (!key.equals(ignoredSection))
+						continue outerloop;
 
-						// Write from old to new, copying all keys and subkeys manually
-						else {
-							write0(key, true, newConfig, oldConfig, comments, ignoredSections, writer, yaml);
+					// Write from new to old config
+					if ((!oldConfig.isSet(ignoredSection) || oldConfig.getConfigurationSection(ignoredSection).getKeys().isEmpty()))
+						copyAllowed.add(ignoredSection);
 
-							for (final String oldKey : getDeepKeys(oldConfig.getConfigurationSection(ignoredSection)))
-								write0(ignoredSection + "." + oldKey, true, oldConfig, newConfig, comments, ignoredSections, writer, yaml);
+					// Write from old to new, copying all keys and subkeys manually
+					else {
+						write0(key, true, newConfig, oldConfig, comments, ignoredSections, writer, yaml);
 
-							reverseCopy.add(ignoredSection);
-							continue outerloop;
-						}
+						for (final String oldKey : getDeepKeys(oldConfig.getConfigurationSection(ignoredSection)))
+							write0(ignoredSection + "." + oldKey, true, oldConfig, newConfig, comments, ignoredSections, writer, yaml);
 
-					if (key.startsWith(ignoredSection))
+						reverseCopy.add(ignoredSection);
 						continue outerloop;
+					}
 				}
 			}
 
@@ -288,7 +314,7 @@ public final class YamlComments {
 
 	//Key is the config key, value = comment and/or ignored sections
 	//Parses comments, blank lines, and ignored sections
-	private static Map<String, String> parseComments(List<String> lines, List<String> ignoredSections, Configuration oldConfig, Yaml yaml) {
+	private static Map<String, String> parseComments(List<String> lines) {
 		final Map<String, String> comments = new HashMap<>();
 		final StringBuilder builder = new StringBuilder();
 		final StringBuilder keyBuilder = new StringBuilder();
@@ -414,14 +440,78 @@ public final class YamlComments {
 	}
 
 	private static Map<String, Object> getMap(Object configuration) {
-		try {
-			final Field self = configuration.getClass().getDeclaredField("self");
+		return ((Configuration) configuration).self;
+	}
 
-			self.setAccessible(true);
-			return (Map<String, Object>) self.get(configuration);
+	// Returns the parsed default file from our JAR, parsing it only once
+	private static JarDefaults getJarDefaults(String jarPath) {
+		return jarDefaults.computeIfAbsent(jarPath, path -> {
+			final List<String> lines = FileUtil.getInternalFileContent(path);
+			final Configuration config = ConfigurationProvider.getProvider(YamlConfiguration.class).load(String.join("\n", lines));
 
-		} catch (final ReflectiveOperationException ex) {
-			throw new RuntimeException(ex);
+			return new JarDefaults(config, Collections.unmodifiableMap(parseComments(lines)));
+		});
+	}
+
+	// Reading a configuration can create missing sections in it, so we never hand out the cached one
+	private static Configuration copyOf(Configuration config) {
+		return new Configuration(toMap(config), null);
+	}
+
+	private static Map<String, Object> toMap(Configuration config) {
+		final Map<String, Object> map = new LinkedHashMap<>();
+
+		for (final Map.Entry<String, Object> entry : config.self.entrySet())
+			map.put(entry.getKey(), entry.getValue() instanceof Configuration ? toMap((Configuration) entry.getValue()) : entry.getValue());
+
+		return map;
+	}
+
+	/**
+	 * Clear the cached default files from the plugin jar, called automatically on reload
+	 */
+	public static void clearCache() {
+		jarDefaults.clear();
+	}
+
+	// The parsed default file with its comments
+	@RequiredArgsConstructor
+	private static final class JarDefaults {
+		private final Configuration config;
+		private final Map<String, String> comments;
+	}
+
+	// Matches keys against prefixes in time linear to the key length instead of the prefix count
+	private static final class PrefixTrie {
+		private final Map<Character, PrefixTrie> children = new HashMap<>();
+		private int index = -1;
+		private int size;
+
+		// Adds the prefix unless present, remembering the order it was added in
+		void add(String prefix) {
+			PrefixTrie node = this;
+
+			for (int i = 0; i < prefix.length(); i++)
+				node = node.children.computeIfAbsent(prefix.charAt(i), character -> new PrefixTrie());
+
+			if (node.index == -1)
+				node.index = this.size;
+
+			this.size++;
+		}
+
+		// Returns the index of the first added prefix the key starts with, or -1 if none
+		int findPrefixOf(String key) {
+			PrefixTrie node = this;
+			int result = -1;
+
+			for (int i = 0;; i++) {
+				if (node.index != -1 && (result == -1 || node.index < result))
+					result = node.index;
+
+				if (i == key.length() || (node = node.children.get(key.charAt(i))) == null)
+					return result;
+			}
 		}
 	}
 }
\ No newline at end of file
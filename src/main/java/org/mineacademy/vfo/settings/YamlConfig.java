@@ -1,7 +1,10 @@
 package org.mineacademy.vfo.settings;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -13,6 +16,7 @@ import javax.annotation.Nullable;
 import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.FileUtil;
 import org.mineacademy.vfo.ReflectionUtil;
+import org.mineacademy.vfo.remain.Remain;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
@@ -175,15 +179,14 @@ public class YamlConfig extends FileConfig {
 			// Initialize file early
 			this.file = file;
 
-			// Keep a loaded copy to copy default values from
-			final YamlConfig defaultConfig = new YamlConfig();
-			final String defaultContent = String.join("\n", FileUtil.getInternalFileContent(from));
+			// Keep a loaded copy to copy default values from, shared with all configs using the same file
+			this.useSharedDefaults(from, path -> {
+				final YamlConfig defaultConfig = new YamlConfig();
 
-			defaultConfig.file = file;
-			defaultConfig.loadFromString(defaultContent);
+				defaultConfig.loadFromString(String.join("\n", FileUtil.getInternalFileContent(path)));
 
-			this.defaults = defaultConfig.section;
-			this.defaultsPath = from;
+				return defaultConfig.section;
+			});
 		}
 
 		else {
@@ -244,9 +247,9 @@ public class YamlConfig extends FileConfig {
 			return header + dump;
 		}
 
-		// Special case, write using comments engine
+		// Special case, render using comments engine so the file can be written later like any other
 		try {
-			YamlComments.writeComments(this.defaultsPath, this.file, this.getUncommentedSections());
+			return YamlComments.renderComments(this.defaultsPath, this.file, this.getUncommentedSections());
 
 		} catch (final IOException ex) {
 			ex.printStackTrace();
@@ -264,11 +267,16 @@ public class YamlConfig extends FileConfig {
 			final Object value = entry.getValue();
 
 			if (value instanceof ConfigSection) {
-				final Map<String, Object> childMap = ((ConfigSection) value).map;
+				final ConfigSection childSection = (ConfigSection) value;
+				final int oldSize = childSection.map.size();
 
-				removeEmptyValues(childMap);
+				removeEmptyValues(childSection.map);
 
-				if (childMap.isEmpty())
+				// We removed empty values from the child section directly
+				if (childSection.map.size() != oldSize)
+					childSection.markChanged();
+
+				if (childSection.map.isEmpty())
 					it.remove();
 			}
 
@@ -289,28 +297,86 @@ public class YamlConfig extends FileConfig {
 	 */
 	@Override
 	final void loadFromString(@NonNull String contents) {
+		try {
+			this.loadFromReader(new BufferedReader(new StringReader(contents)));
+
+		} catch (final IOException ex) {
+			Remain.sneaky(ex);
+		}
+	}
+
+	/*
+	 * Loads configuration streaming from the given reader, only the header lines are buffered
+	 */
+	@Override
+	final void loadFromReader(@NonNull BufferedReader reader) throws IOException {
+		final List<String> headerLines = new ArrayList<>();
+		final StringBuilder readLines = new StringBuilder();
 
-		Map<?, ?> input;
+		// Read comments and empty lines at the top, up to and including the first line with a value
+		String line;
+
+		while ((line = reader.readLine()) != null) {
+			readLines.append(line).append('\n');
+
+			final String trimmed = line.trim();
+
+			if (!trimmed.isEmpty() && !trimmed.startsWith("#"))
+				break;
+
+			headerLines.add(line);
+		}
+
+		// Give the lines we read back so the parser sees all of them
+		final PushbackReader input = new PushbackReader(reader, Math.max(1, readLines.length()));
+		input.unread(readLines.toString().toCharArray());
+
+		final Object parsed;
 
 		try {
-			input = (Map<?, ?>) this.yaml.load(contents);
+			parsed = this.yaml.load(input);
 
 		} catch (final YAMLException ex) {
 			throw ex;
-
-		} catch (final ClassCastException e) {
-			throw new IllegalArgumentException("Top level is not a Map.");
 		}
 
-		final String header = this.parseHeader(contents);
+		this.loadFromInput(parsed, this.parseHeader(headerLines));
+	}
+
+	/*
+	 * Replaces all values in this config with the given parsed input
+	 */
+	private void loadFromInput(@Nullable Object input, String header) {
+		if (input != null && !(input instanceof Map))
+			throw new IllegalArgumentException("Top level is not a Map.");
 
 		if (header.trim().length() > 0)
 			this.setHeader(header);
 
-		this.section.map.clear();
+		this.section.clear();
 
 		if (input != null)
-			this.convertMapsToSections(input, this.section);
+			this.drainMapsToSections((Map<?, ?>) input, this.section);
+	}
+
+	/*
+	 * Converts the given top level map to sections, removing each entry once converted
+	 * so that its parsed values can be collected before the rest is converted
+	 */
+	private void drainMapsToSections(@NonNull Map<?, ?> input, @NonNull ConfigSection section) {
+		for (final Iterator<? extends Map.Entry<?, ?>> it = input.entrySet().iterator(); it.hasNext();) {
+			final Map.Entry<?, ?> entry = it.next();
+			final String key = entry.getKey().toString();
+			final Object value = entry.getValue();
+
+			// Nested maps may be shared by YAML aliases so only the top level is drained
+			it.remove();
+
+			if (value instanceof Map)
+				this.convertMapsToSections((Map<?, ?>) value, section.createSection(key));
+			else
+				section.store(key, value);
+		}
 	}
 
 	/*
@@ -329,19 +395,18 @@ public class YamlConfig extends FileConfig {
 	}
 
 	/*
-	 * Converts the given input to header
+	 * Converts the given input lines to header
 	 */
 	@NonNull
-	private String parseHeader(@NonNull String input) {
+	private String parseHeader(@NonNull List<String> lines) {
 		final String commentPrefix = "# ";
-		final String[] lines = input.split("\r?\n", -1);
 		final StringBuilder result = new StringBuilder();
 
 		boolean readingHeader = true;
 		boolean foundHeader = false;
 
-		for (int i = 0; i < lines.length && readingHeader; i++) {
-			final String line = lines[i].trim();
+		for (int i = 0; i < lines.size() && readingHeader; i++) {
+			final String line = lines.get(i).trim();
 
 			if (line.startsWith(commentPrefix) || line.equals("#")) {
 				if (i > 0)
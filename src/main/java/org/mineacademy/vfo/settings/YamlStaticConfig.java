@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.mineacademy.vfo.Common;
+import org.mineacademy.vfo.FileUtil;
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.collection.SerializedMap;
 import org.mineacademy.vfo.collection.StrictList;
@@ -152,6 +153,21 @@ public abstract class YamlStaticConfig {
 		return new ArrayList<>();
 	}
 
+	/**
+	 * Return true to store the loaded static field values in a binary file in the cache/ folder and
+	 * restore them on the next start without parsing the YAML, as long as the file on the disk,
+	 * its default file in the JAR, the plugin version and the fields did not change.
+	 *
+	 * When restored, {@link #preLoad()} and your init() methods are NOT called, so only enable this
+	 * if they do nothing but set fields. Fields holding other types than primitives, Strings, enums,
+	 * date formats, colors, cases or lists and sets of them prevent caching.
+	 *
+	 * @return
+	 */
+	protected boolean useCompiledCache() {
+		return false;
+	}
+
 	/*
 	 * Loads the class via reflection, scanning for "private static void init()" methods to run
 	 */
@@ -248,11 +264,19 @@ public abstract class YamlStaticConfig {
 	// -----------------------------------------------------------------------------------------------------
 
 	protected final void loadConfiguration(String internalPath) {
-		TEMPORARY_INSTANCE.loadConfiguration(internalPath, internalPath);
+		this.loadConfiguration(internalPath, internalPath);
 	}
 
 	protected final void loadConfiguration(String from, String to) {
+		final StaticConfigCache cache = this.useCompiledCache() ? new StaticConfigCache(this.getClass()) : null;
+
+		if (cache != null && cache.restore(from, FileUtil.getFile(to)))
+			return;
+
 		TEMPORARY_INSTANCE.loadConfiguration(from, to);
+
+		if (cache != null)
+			cache.store(from, TEMPORARY_INSTANCE.file);
 	}
 
 	protected static final void set(final String path, final Object value) {
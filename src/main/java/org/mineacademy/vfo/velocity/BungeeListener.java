@@ -1,18 +1,34 @@
 package org.mineacademy.vfo.velocity;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.Valid;
+import org.mineacademy.vfo.collection.expiringmap.NamedThreadFactory;
+import org.mineacademy.vfo.model.TokenBucket;
+import org.mineacademy.vfo.model.Tuple;
 import org.mineacademy.vfo.plugin.SimplePlugin;
 import org.mineacademy.vfo.velocity.message.IncomingMessage;
+import org.mineacademy.vfo.velocity.message.OutgoingMessage;
 
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
 import com.velocitypowered.api.proxy.messages.LegacyChannelIdentifier;
+import com.velocitypowered.api.scheduler.ScheduledTask;
+import com.velocitypowered.api.scheduler.TaskStatus;
 
 import lombok.Getter;
 import lombok.NonNull;
@@ -49,22 +65,59 @@ public abstract class BungeeListener {
 	private final BungeeMessageType[] actions;
 
 	/**
-	 * Temporary variable storing the senders connection
+	 * Temporary variable storing the senders connection, for the thread handling the message
 	 */
-	@Getter
-	private ServerConnection sender;
+	private final ThreadLocal<ServerConnection> sender = new ThreadLocal<>();
 
 	/**
-	 * Temporary variable storing the receiver
+	 * Temporary variable storing the receiver, for the thread handling the message
 	 */
-	@Getter
-	private ChannelMessageSink receiver;
+	private final ThreadLocal<ChannelMessageSink> receiver = new ThreadLocal<>();
 
 	/**
-	 * Temporary variable for reading data
+	 * Temporary variable for reading data, for the thread handling the message
 	 */
-	@Getter
-	private byte[] data;
+	private final ThreadLocal<byte[]> data = new ThreadLocal<>();
+
+	/**
+	 * Rate limits for incoming messages on this channel, by server name
+	 */
+	private final Map<String, TokenBucket> rateLimits = new ConcurrentHashMap<>();
+
+	/**
+	 * How many incoming messages were dropped because the sending server exceeded the rate limit
+	 */
+	private final AtomicLong throttledMessages = new AtomicLong();
+
+	/**
+	 * How many incoming messages were dropped because the dispatch queue was full
+	 */
+	private final AtomicLong droppedMessages = new AtomicLong();
+
+	/**
+	 * How many incoming messages were handed to {@link #onMessageReceived(ServerConnection, IncomingMessage)}
+	 */
+	private final AtomicLong dispatchedMessages = new AtomicLong();
+
+	/**
+	 * The dispatch thread with a bounded queue, created lazily when {@link #getDispatchQueueSize()} is above 0
+	 */
+	private volatile ThreadPoolExecutor dispatcher;
+
+	/**
+	 * Coalesced broadcasts waiting to be sent, by action and key, with the server name to ignore
+	 */
+	private final Map<String, Tuple<OutgoingMessage, String>> pendingBroadcasts = new LinkedHashMap<>();
+
+	/**
+	 * How many coalesced broadcasts were replaced by a newer one before being sent
+	 */
+	private final AtomicLong suppressedBroadcasts = new AtomicLong();
+
+	/**
+	 * The task sending pending coalesced broadcasts
+	 */
+	private ScheduledTask flushTask;
 
 	/**
 	 * Create a new bungee suite with the given params
@@ -107,6 +160,365 @@ public abstract class BungeeListener {
 	 */
 	public abstract void onMessageReceived(ServerConnection sender, IncomingMessage message);
 
+	/**
+	 * How many messages per second can each server send on this channel?
+	 * Messages over the limit are dropped. Return 0 or less to disable.
+	 *
+	 * @return defaults to 0, no limit
+	 */
+	protected double getMessageRateLimit() {
+		return 0;
+	}
+
+	/**
+	 * How many messages can each server send at once above the {@link #getMessageRateLimit()}
+	 * before we start dropping them? Only used when the rate limit is enabled.
+	 *
+	 * @return defaults to 1000
+	 */
+	protected int getMessageBurst() {
+		return 1000;
+	}
+
+	/**
+	 * How many incoming messages can wait for {@link #onMessageReceived(ServerConnection, IncomingMessage)}?
+	 * <p>
+	 * If above 0, messages are handled on a dedicated thread for this channel so a slow
+	 * handler will not stall the proxy event threads, see {@link #getOverflowPolicy()}.
+	 * Return 0 to handle messages directly on the event thread.
+	 *
+	 * @return defaults to 0
+	 */
+	protected int getDispatchQueueSize() {
+		return 0;
+	}
+
+	/**
+	 * What to do when the dispatch queue is full, see {@link #getDispatchQueueSize()}
+	 *
+	 * @return defaults to {@link OverflowPolicy#DROP_NEWEST}
+	 */
+	protected OverflowPolicy getOverflowPolicy() {
+		return OverflowPolicy.DROP_NEWEST;
+	}
+
+	/**
+	 * Messages with a body larger than this amount of bytes are compressed, return -1 to disable.
+	 * <p>
+	 * When enabled, messages on this channel carry an extra flag in their header, so
+	 * all servers using this channel must have compression enabled too.
+	 *
+	 * @return defaults to -1
+	 */
+	public int getCompressionThreshold() {
+		return -1;
+	}
+
+	/**
+	 * The maximum size in bytes a compressed incoming message can decompress to,
+	 * larger messages are dropped.
+	 *
+	 * @return defaults to 1 MB
+	 */
+	public int getMaxDecompressedSize() {
+		return 1024 * 1024;
+	}
+
+	/**
+	 * How long to collect coalesced broadcasts before sending them, in ticks,
+	 * see {@link #broadcastCoalesced(String, OutgoingMessage)}
+	 *
+	 * @return defaults to 2 ticks (100ms)
+	 */
+	protected int getCoalesceIntervalTicks() {
+		return 2;
+	}
+
+	/**
+	 * Return how many incoming messages were dropped because a server exceeded the rate limit
+	 *
+	 * @return
+	 */
+	public final long getThrottledMessages() {
+		return this.throttledMessages.get();
+	}
+
+	/**
+	 * Return how many incoming messages were dropped because the dispatch queue was full
+	 *
+	 * @return
+	 */
+	public final long getDroppedMessages() {
+		return this.droppedMessages.get();
+	}
+
+	/**
+	 * Return how many incoming messages were handed over to be handled
+	 *
+	 * @return
+	 */
+	public final long getDispatchedMessages() {
+		return this.dispatchedMessages.get();
+	}
+
+	/**
+	 * Return how many coalesced broadcasts were replaced by a newer one before being sent
+	 *
+	 * @return
+	 */
+	public final long getSuppressedBroadcasts() {
+		return this.suppressedBroadcasts.get();
+	}
+
+	/**
+	 * Return how many incoming messages are waiting in the dispatch queue
+	 *
+	 * @return
+	 */
+	public final int getPendingMessages() {
+		final ThreadPoolExecutor dispatcher = this.dispatcher;
+
+		return dispatcher == null ? 0 : dispatcher.getQueue().size();
+	}
+
+	/**
+	 * Broadcasts the message to all servers after {@link #getCoalesceIntervalTicks()}.
+	 * <p>
+	 * If another message with the same action and key is coalesced before then,
+	 * it replaces this one so only the latest value is sent. Use this for
+	 * state where only the latest value matters, such as player counts.
+	 *
+	 * @param key
+	 * @param message
+	 */
+	public final void broadcastCoalesced(@NonNull String key, @NonNull OutgoingMessage message) {
+		this.broadcastCoalescedExcept(key, message, null);
+	}
+
+	/**
+	 * Broadcasts the message to all servers except the one ignored after {@link #getCoalesceIntervalTicks()},
+	 * see {@link #broadcastCoalesced(String, OutgoingMessage)}
+	 *
+	 * @param key
+	 * @param message
+	 * @param ignoredServerName
+	 */
+	public final void broadcastCoalescedExcept(@NonNull String key, @NonNull OutgoingMessage message, String ignoredServerName) {
+		Valid.checkBoolean(message.getListener() == this, "Cannot coalesce message " + message.getAction() + " from another listener on channel " + this.channel);
+
+		synchronized (this.pendingBroadcasts) {
+			if (this.pendingBroadcasts.put(message.getAction().name() + " " + key, new Tuple<>(message, ignoredServerName)) != null)
+				this.suppressedBroadcasts.incrementAndGet();
+
+			if (this.flushTask == null || this.flushTask.status() != TaskStatus.SCHEDULED)
+				this.flushTask = Common.runLaterAsync(this.getCoalesceIntervalTicks(), this::flushBroadcasts);
+		}
+	}
+
+	/**
+	 * Send all pending coalesced broadcasts now
+	 */
+	public final void flushBroadcasts() {
+		final List<Tuple<OutgoingMessage, String>> messages;
+
+		synchronized (this.pendingBroadcasts) {
+			messages = new ArrayList<>(this.pendingBroadcasts.values());
+
+			this.pendingBroadcasts.clear();
+		}
+
+		for (final Tuple<OutgoingMessage, String> message : messages)
+			message.getKey().broadcastExcept(message.getValue());
+	}
+
+	/**
+	 * Send pending coalesced broadcasts of all registered listeners now,
+	 * called automatically when the plugin reloads or stops so they are not lost
+	 */
+	public static void flushAllBroadcasts() {
+		for (final BungeeListener listener : getRegisteredListeners())
+			listener.flushBroadcasts();
+	}
+
+	/**
+	 * Return true if the given server is still within its rate limit on this channel,
+	 * taking one message from its allowance
+	 *
+	 * @deprecated internal use only
+	 *
+	 * @param serverName
+	 * @return
+	 */
+	@Deprecated
+	public final boolean tryAcquire(String serverName) {
+		final double rate = this.getMessageRateLimit();
+
+		if (rate <= 0)
+			return true;
+
+		final TokenBucket bucket = this.rateLimits.computeIfAbsent(serverName, name -> new TokenBucket(rate, Math.max(1, this.getMessageBurst())));
+
+		if (bucket.tryAcquire())
+			return true;
+
+		this.throttledMessages.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Run the given message handler now or put it to the dispatch queue, see {@link #getDispatchQueueSize()}
+	 *
+	 * @deprecated internal use only
+	 *
+	 * @param handler
+	 */
+	@Deprecated
+	public final void dispatch(Runnable handler) {
+		final Runnable counted = () -> {
+			this.dispatchedMessages.incrementAndGet();
+
+			handler.run();
+		};
+
+		final int queueSize = this.getDispatchQueueSize();
+
+		if (queueSize <= 0) {
+			counted.run();
+
+			return;
+		}
+
+		final ThreadPoolExecutor dispatcher;
+
+		synchronized (this) {
+			if (this.dispatcher == null)
+				this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+						new ArrayBlockingQueue<>(queueSize),
+						new NamedThreadFactory("BungeeListener " + this.channel + " Dispatcher %d"),
+						this.getOverflowPolicy().createHandler(this.droppedMessages));
+
+			dispatcher = this.dispatcher;
+		}
+
+		dispatcher.execute(counted);
+	}
+
+	/*
+	 * Stop the dispatch thread after it handled messages already queued, waiting for it up to the given time
+	 */
+	private void shutdownDispatcher(long timeoutMillis) {
+		final ThreadPoolExecutor dispatcher;
+
+		synchronized (this) {
+			dispatcher = this.dispatcher;
+			this.dispatcher = null;
+		}
+
+		if (dispatcher == null)
+			return;
+
+		dispatcher.shutdown();
+
+		try {
+			if (!dispatcher.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS))
+				this.droppedMessages.addAndGet(dispatcher.shutdownNow().size());
+
+		} catch (final InterruptedException ex) {
+			this.droppedMessages.addAndGet(dispatcher.shutdownNow().size());
+
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stop dispatch threads of all registered listeners, letting them handle messages
+	 * already queued for a short while. Called automatically when the plugin reloads or stops,
+	 * the threads are created again when the next message arrives.
+	 */
+	public static void shutdownDispatchers() {
+		for (final BungeeListener listener : getRegisteredListeners())
+			listener.shutdownDispatcher(2000);
+	}
+
+	/**
+	 * Represents what happens with an incoming message when the dispatch queue is full
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Drop the message that just arrived
+		 */
+		DROP_NEWEST {
+			@Override
+			RejectedExecutionHandler createHandler(AtomicLong droppedCounter) {
+				return (task, executor) -> droppedCounter.incrementAndGet();
+			}
+		},
+
+		/**
+		 * Drop the oldest message waiting in the queue to make room for the new one
+		 */
+		DROP_OLDEST {
+			@Override
+			RejectedExecutionHandler createHandler(AtomicLong droppedCounter) {
+				return (task, executor) -> {
+					if (executor.isShutdown())
+						return;
+
+					if (executor.getQueue().poll() != null)
+						droppedCounter.incrementAndGet();
+
+					executor.execute(task);
+				};
+			}
+		},
+
+		/**
+		 * Handle the message on the event thread, slowing down the sender
+		 */
+		CALLER_RUNS {
+			@Override
+			RejectedExecutionHandler createHandler(AtomicLong droppedCounter) {
+				return new ThreadPoolExecutor.CallerRunsPolicy();
+			}
+		};
+
+		/*
+		 * Create the handler for rejected messages counting those we drop
+		 */
+		abstract RejectedExecutionHandler createHandler(AtomicLong droppedCounter);
+	}
+
+	/**
+	 * Return the connection of the server that sent the message being handled
+	 * on this thread, or null if not called from {@link #onMessageReceived(ServerConnection, IncomingMessage)}
+	 *
+	 * @return
+	 */
+	public ServerConnection getSender() {
+		return this.sender.get();
+	}
+
+	/**
+	 * Return the receiver of the message being handled on this thread,
+	 * or null if not called from {@link #onMessageReceived(ServerConnection, IncomingMessage)}
+	 *
+	 * @return
+	 */
+	public ChannelMessageSink getReceiver() {
+		return this.receiver.get();
+	}
+
+	/**
+	 * Return the raw data of the message being handled on this thread,
+	 * or null if not called from {@link #onMessageReceived(ServerConnection, IncomingMessage)}
+	 *
+	 * @return
+	 */
+	public byte[] getData() {
+		return this.data.get();
+	}
+
 	/**
 	 * @deprecated internal use only
 	 *
@@ -114,7 +526,7 @@ public abstract class BungeeListener {
 	 */
 	@Deprecated
 	public void setSender(ServerConnection sender) {
-		this.sender = sender;
+		setOrRemove(this.sender, sender);
 	}
 
 	/**
@@ -124,7 +536,7 @@ public abstract class BungeeListener {
 	 */
 	@Deprecated
 	public void setReceiver(ChannelMessageSink receiver) {
-		this.receiver = receiver;
+		setOrRemove(this.receiver, receiver);
 	}
 
 	/**
@@ -134,7 +546,17 @@ public abstract class BungeeListener {
 	 */
 	@Deprecated
 	public void setData(byte[] data) {
-		this.data = data;
+		setOrRemove(this.data, data);
+	}
+
+	/*
+	 * Set the value for this thread, or remove it when null so dispatch threads do not keep old messages
+	 */
+	private static <T> void setOrRemove(ThreadLocal<T> local, T value) {
+		if (value == null)
+			local.remove();
+		else
+			local.set(value);
 	}
 
 	/**
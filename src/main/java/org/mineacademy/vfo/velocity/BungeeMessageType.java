@@ -8,7 +8,9 @@ public interface BungeeMessageType {
 
 	/**
 	 * Stores all valid values in this action in the order of which they
-	 * are being sent. Only primitive types, UUID, SerializedMap and String are supported.
+	 * are being sent. Only primitive types, UUID, enums, SerializedMap and String are supported.
+	 * <p>
+	 * The content is resolved once per action and each read/write is checked against it.
 	 *
 	 * @return
 	 */
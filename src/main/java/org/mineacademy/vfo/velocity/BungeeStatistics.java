@@ -0,0 +1,341 @@
+package org.mineacademy.vfo.velocity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collects plugin messaging statistics by channel, action and server
+ * so you can find out what saturates the proxy without enabling debug output.
+ * <p>
+ * Recording is lock-free and does not allocate once an entry exists.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BungeeStatistics {
+
+	/**
+	 * Used in place of an action or server name when it is unknown or applies to all
+	 */
+	public static final String ANY = "*";
+
+	/**
+	 * Entries by channel, action and server name
+	 */
+	private static final Map<String, Map<String, Map<String, Entry>>> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the entry for the given channel, action and server, creating it if needed
+	 *
+	 * @param channel
+	 * @param action
+	 * @param serverName
+	 * @return
+	 */
+	public static Entry of(String channel, String action, String serverName) {
+		return entries
+				.computeIfAbsent(channel, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(action, key -> new ConcurrentHashMap<>())
+				.computeIfAbsent(serverName, key -> new Entry(channel, action, serverName));
+	}
+
+	/**
+	 * Return the entry for the given message action and server, creating it if needed
+	 *
+	 * @param listener
+	 * @param action
+	 * @param serverName
+	 * @return
+	 */
+	public static Entry of(BungeeListener listener, BungeeMessageType action, String serverName) {
+		return of(listener.getChannel(), action.name(), serverName);
+	}
+
+	/**
+	 * Return all entries, sorted by channel, action and server name
+	 *
+	 * @return
+	 */
+	public static List<Entry> getEntries() {
+		final List<Entry> list = new ArrayList<>();
+
+		for (final Map<String, Map<String, Entry>> actions : entries.values())
+			for (final Map<String, Entry> servers : actions.values())
+				list.addAll(servers.values());
+
+		Collections.sort(list, (first, second) -> {
+			int result = first.getChannel().compareTo(second.getChannel());
+
+			if (result == 0)
+				result = first.getAction().compareTo(second.getAction());
+
+			if (result == 0)
+				result = first.getServerName().compareTo(second.getServerName());
+
+			return result;
+		});
+
+		return list;
+	}
+
+	/**
+	 * Remove all collected statistics
+	 */
+	public static void reset() {
+		entries.clear();
+	}
+
+	/**
+	 * Represents statistics for one channel, action and server
+	 */
+	@Getter
+	@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+	public static final class Entry {
+
+		/**
+		 * The channel
+		 */
+		private final String channel;
+
+		/**
+		 * The action name, or {@link BungeeStatistics#ANY}
+		 */
+		private final String action;
+
+		/**
+		 * The server name the message came from or was sent to, or {@link BungeeStatistics#ANY}
+		 */
+		private final String serverName;
+
+		/**
+		 * Incoming messages and their total size
+		 */
+		@Getter(AccessLevel.NONE)
+		private final LongAdder messagesIn = new LongAdder(), bytesIn = new LongAdder();
+
+		/**
+		 * Outgoing messages and their total size
+		 */
+		@Getter(AccessLevel.NONE)
+		private final LongAdder messagesOut = new LongAdder(), bytesOut = new LongAdder();
+
+		/**
+		 * Outgoing messages not sent because they were too big or the server was empty
+		 */
+		@Getter(AccessLevel.NONE)
+		private final LongAdder droppedOversized = new LongAdder(), droppedEmptyServer = new LongAdder();
+
+		/**
+		 * How long {@link BungeeListener#onMessageReceived(com.velocitypowered.api.proxy.ServerConnection, org.mineacademy.vfo.velocity.message.IncomingMessage)} took
+		 */
+		private final Histogram handlerTime = new Histogram();
+
+		/**
+		 * How long we waited for the plugin messaging lock
+		 */
+		private final Histogram lockWait = new Histogram();
+
+		/**
+		 * How long messages waited in the dispatch queue before their handler started,
+		 * see {@link BungeeListener#getDispatchQueueSize()}
+		 */
+		private final Histogram queueWait = new Histogram();
+
+		/**
+		 * Record an incoming message of the given size
+		 *
+		 * @param bytes
+		 */
+		public void recordIn(int bytes) {
+			this.messagesIn.increment();
+			this.bytesIn.add(bytes);
+		}
+
+		/**
+		 * Record an outgoing message of the given size
+		 *
+		 * @param bytes
+		 */
+		public void recordOut(int bytes) {
+			this.messagesOut.increment();
+			this.bytesOut.add(bytes);
+		}
+
+		/**
+		 * Record an outgoing message we did not send because it was too big
+		 */
+		public void recordOversized() {
+			this.droppedOversized.increment();
+		}
+
+		/**
+		 * Record an outgoing message we did not send because the server was empty
+		 */
+		public void recordEmptyServer() {
+			this.droppedEmptyServer.increment();
+		}
+
+		/**
+		 * Return how many messages we received
+		 *
+		 * @return
+		 */
+		public long getMessagesIn() {
+			return this.messagesIn.sum();
+		}
+
+		/**
+		 * Return how many bytes we received
+		 *
+		 * @return
+		 */
+		public long getBytesIn() {
+			return this.bytesIn.sum();
+		}
+
+		/**
+		 * Return how many messages we sent
+		 *
+		 * @return
+		 */
+		public long getMessagesOut() {
+			return this.messagesOut.sum();
+		}
+
+		/**
+		 * Return how many bytes we sent
+		 *
+		 * @return
+		 */
+		public long getBytesOut() {
+			return this.bytesOut.sum();
+		}
+
+		/**
+		 * Return how many outgoing messages were not sent because they were too big
+		 *
+		 * @return
+		 */
+		public long getDroppedOversized() {
+			return this.droppedOversized.sum();
+		}
+
+		/**
+		 * Return how many outgoing messages were not sent because the server was empty
+		 *
+		 * @return
+		 */
+		public long getDroppedEmptyServer() {
+			return this.droppedEmptyServer.sum();
+		}
+	}
+
+	/**
+	 * Represents a simple lock-free histogram of durations in nanoseconds
+	 * using power of two buckets
+	 */
+	public static final class Histogram {
+
+		/**
+		 * The amount of buckets, the last one holds everything from ~1 second up
+		 */
+		private static final int BUCKETS = 32;
+
+		/**
+		 * The count of values in each bucket
+		 */
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+		/**
+		 * The amount and sum of all values
+		 */
+		private final LongAdder count = new LongAdder(), total = new LongAdder();
+
+		/**
+		 * The highest value recorded
+		 */
+		private volatile long max;
+
+		/**
+		 * Record a duration
+		 *
+		 * @param nanos
+		 */
+		public void record(long nanos) {
+			if (nanos < 0)
+				nanos = 0;
+
+			this.buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+			this.count.increment();
+			this.total.add(nanos);
+
+			if (nanos > this.max)
+				synchronized (this) {
+					if (nanos > this.max)
+						this.max = nanos;
+				}
+		}
+
+		/**
+		 * Return how many values were recorded
+		 *
+		 * @return
+		 */
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		/**
+		 * Return the average value in nanoseconds
+		 *
+		 * @return
+		 */
+		public long getAverage() {
+			final long count = this.count.sum();
+
+			return count == 0 ? 0 : this.total.sum() / count;
+		}
+
+		/**
+		 * Return the highest value in nanoseconds
+		 *
+		 * @return
+		 */
+		public long getMax() {
+			return this.max;
+		}
+
+		/**
+		 * Return the upper bound in nanoseconds of the bucket containing the given percentile
+		 *
+		 * @param percentile from 0 to 100
+		 * @return
+		 */
+		public long getPercentile(double percentile) {
+			final long count = this.count.sum();
+
+			if (count == 0)
+				return 0;
+
+			final long threshold = (long) Math.ceil(count * percentile / 100D);
+			long seen = 0;
+
+			for (int bucket = 0; bucket < BUCKETS; bucket++) {
+				seen += this.buckets.get(bucket);
+
+				if (seen >= threshold)
+					return Math.min(this.max, bucket == 0 ? 0 : (1L << bucket) - 1);
+			}
+
+			return this.max;
+		}
+	}
+}
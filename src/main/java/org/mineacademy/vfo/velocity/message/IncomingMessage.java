@@ -10,6 +10,7 @@ import org.mineacademy.vfo.collection.SerializedMap;
 import org.mineacademy.vfo.debug.Debugger;
 import org.mineacademy.vfo.velocity.BungeeListener;
 import org.mineacademy.vfo.velocity.BungeeMessageType;
+import org.mineacademy.vfo.velocity.BungeeStatistics;
 
 import com.google.common.io.ByteArrayDataInput;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
@@ -87,7 +88,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public String readString() {
-		this.moveHead(String.class);
+		this.moveHead(WireType.UTF);
 
 		return this.input.readUTF();
 	}
@@ -98,7 +99,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public UUID readUUID() {
-		this.moveHead(UUID.class);
+		this.moveHead(WireType.UTF);
 
 		return UUID.fromString(this.input.readUTF());
 	}
@@ -109,7 +110,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public SerializedMap readMap() {
-		this.moveHead(String.class);
+		this.moveHead(WireType.UTF);
 
 		return SerializedMap.fromJson(this.input.readUTF());
 	}
@@ -122,7 +123,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public <T extends Enum<T>> T readEnum(Class<T> typeOf) {
-		this.moveHead(typeOf);
+		this.moveHead(WireType.UTF);
 
 		return ReflectionUtil.lookupEnum(typeOf, this.input.readUTF());
 	}
@@ -133,7 +134,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public boolean readBoolean() {
-		this.moveHead(Boolean.class);
+		this.moveHead(WireType.BOOLEAN);
 
 		return this.input.readBoolean();
 	}
@@ -144,7 +145,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public byte readByte() {
-		this.moveHead(Byte.class);
+		this.moveHead(WireType.BYTE);
 
 		return this.input.readByte();
 	}
@@ -155,7 +156,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public byte[] readBytes() {
-		this.moveHead(byte[].class);
+		this.moveHead(WireType.BYTES);
 
 		final byte[] array = new byte[this.stream.available()];
 
@@ -175,7 +176,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public double readDouble() {
-		this.moveHead(Double.class);
+		this.moveHead(WireType.DOUBLE);
 
 		return this.input.readDouble();
 	}
@@ -186,7 +187,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public float readFloat() {
-		this.moveHead(Float.class);
+		this.moveHead(WireType.FLOAT);
 
 		return this.input.readFloat();
 	}
@@ -197,7 +198,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public int readInt() {
-		this.moveHead(Integer.class);
+		this.moveHead(WireType.INT);
 
 		return this.input.readInt();
 	}
@@ -208,7 +209,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public long readLong() {
-		this.moveHead(Long.class);
+		this.moveHead(WireType.LONG);
 
 		return this.input.readLong();
 	}
@@ -219,7 +220,7 @@ public final class IncomingMessage extends Message {
 	 * @return
 	 */
 	public short readShort() {
-		this.moveHead(Short.class);
+		this.moveHead(WireType.SHORT);
 
 		return this.input.readShort();
 	}
@@ -238,21 +239,35 @@ public final class IncomingMessage extends Message {
 	 * @param info
 	 */
 	public void forward(RegisteredServer info) {
+		final String serverName = info.getServerInfo().getName();
+		final BungeeStatistics.Entry statistics = BungeeStatistics.of(this.getListener(), this.getAction(), serverName);
+		final long lockRequested = System.nanoTime();
+
 		synchronized (BungeeListener.DEFAULT_CHANNEL) {
+			statistics.getLockWait().record(System.nanoTime() - lockRequested);
+
 			if (info.getPlayersConnected().isEmpty()) {
-				Debugger.debug("bungee", "NOT sending data on " + this.getChannel() + " channel from " + this.getAction() + " to " + info.getServerInfo().getName() + " server because it is empty.");
+				statistics.recordEmptyServer();
+
+				if (Debugger.isDebugged("bungee"))
+					Debugger.debug("bungee", "NOT sending data on " + this.getChannel() + " channel from " + this.getAction() + " to " + serverName + " server because it is empty.");
 
 				return;
 			}
 
 			if (this.data.length > 32_000) { // Safety margin
-				Common.log("[incoming] Outgoing bungee message was oversized, not sending to " + info.getServerInfo().getName() + ". Max length: 32766 bytes, got " + this.data.length + " bytes.");
+				statistics.recordOversized();
+
+				Common.log("[incoming] Outgoing bungee message was oversized, not sending to " + serverName + ". Max length: 32766 bytes, got " + this.data.length + " bytes.");
 
 				return;
 			}
 
 			info.sendPluginMessage(BungeeListener.DEFAULT_CHANNEL, this.data);
-			Debugger.debug("bungee", "Forwarding data on " + this.getChannel() + " channel from " + this.getAction() + " to " + info.getServerInfo().getName() + " server.");
+			statistics.recordOut(this.data.length);
+
+			if (Debugger.isDebugged("bungee"))
+				Debugger.debug("bungee", "Forwarding data on " + this.getChannel() + " channel from " + this.getAction() + " to " + serverName + " server.");
 		}
 	}
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package org.mineacademy.vfo.velocity.message;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.velocity.BungeeListener;
 import org.mineacademy.vfo.velocity.BungeeMessageType;
@@ -15,6 +18,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor(access = AccessLevel.PROTECTED)
 abstract class Message {
 
+	/**
+	 * The resolved wire types of each action's content, compiled once per action
+	 */
+	private static final Map<BungeeMessageType, WireType[]> schemas = new ConcurrentHashMap<>();
+
 	/**
 	 * The listener associated with this message
 	 */
@@ -38,13 +46,16 @@ abstract class Message {
 	 * This also ensures we are reading the correct data type (both primitives and wrappers
 	 * are supported).
 	 *
-	 * @param typeOf
+	 * @param type
 	 */
-	protected final void moveHead(Class<?> typeOf) {
+	protected final void moveHead(WireType type) {
 		Valid.checkNotNull(this.action, "Action not set!");
 
-		final Class<?>[] content = this.action.getContent();
-		Valid.checkBoolean(this.actionHead < content.length, "Head out of bounds! Max data size for " + this.action.name() + " is " + content.length);
+		final WireType[] schema = schemas.computeIfAbsent(this.action, WireType::compile);
+		Valid.checkBoolean(this.actionHead < schema.length, "Head out of bounds! Max data size for " + this.action.name() + " is " + schema.length);
+
+		final WireType expected = schema[this.actionHead];
+		Valid.checkBoolean(expected == type, "Invalid data type at position " + this.actionHead + " of " + this.action.name() + ", expected " + expected + " but got " + type);
 
 		this.actionHead++;
 	}
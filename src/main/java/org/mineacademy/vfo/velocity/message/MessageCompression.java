@@ -0,0 +1,102 @@
+package org.mineacademy.vfo.velocity.message;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.mineacademy.vfo.exception.FoException;
+import org.mineacademy.vfo.velocity.BungeeListener;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compresses message bodies for listeners that enabled
+ * {@link BungeeListener#getCompressionThreshold()}.
+ * <p>
+ * Such messages carry one extra flag byte right after the action name
+ * telling if the rest of the message is deflated.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MessageCompression {
+
+	/**
+	 * The flag for an uncompressed body
+	 */
+	public static final byte FLAG_NONE = 0;
+
+	/**
+	 * The flag for a body compressed using deflate
+	 */
+	public static final byte FLAG_DEFLATE = 1;
+
+	/**
+	 * Compress the given data using deflate
+	 *
+	 * @param data
+	 * @return
+	 */
+	public static byte[] compress(byte[] data) {
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+		try {
+			deflater.setInput(data);
+			deflater.finish();
+
+			final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+			final byte[] buffer = new byte[4096];
+
+			while (!deflater.finished()) {
+				final int length = deflater.deflate(buffer);
+
+				output.write(buffer, 0, length);
+			}
+
+			return output.toByteArray();
+
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * Decompress the given deflated data, failing if the result would be
+	 * larger than the given limit to protect against zip bombs
+	 *
+	 * @param data
+	 * @param maxSize the maximum decompressed size in bytes
+	 * @return
+	 * @throws FoException if the data is malformed or too large
+	 */
+	public static byte[] decompress(byte[] data, int maxSize) {
+		final Inflater inflater = new Inflater();
+
+		try {
+			inflater.setInput(data);
+
+			final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.min(maxSize, Math.max(64, data.length * 4)));
+			final byte[] buffer = new byte[4096];
+
+			while (!inflater.finished()) {
+				final int length = inflater.inflate(buffer);
+
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new FoException("Compressed message data is truncated or malformed");
+
+				if (output.size() + length > maxSize)
+					throw new FoException("Compressed message exceeds the maximum decompressed size of " + maxSize + " bytes");
+
+				output.write(buffer, 0, length);
+			}
+
+			return output.toByteArray();
+
+		} catch (final DataFormatException ex) {
+			throw new FoException(ex, "Compressed message data is malformed");
+
+		} finally {
+			inflater.end();
+		}
+	}
+}
@@ -1,7 +1,5 @@
 package org.mineacademy.vfo.velocity.message;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 import javax.annotation.Nullable;
@@ -10,12 +8,12 @@ import org.mineacademy.vfo.Common;
 import org.mineacademy.vfo.Valid;
 import org.mineacademy.vfo.collection.SerializedMap;
 import org.mineacademy.vfo.debug.Debugger;
-import org.mineacademy.vfo.exception.FoException;
 import org.mineacademy.vfo.model.ConfigSerializable;
 import org.mineacademy.vfo.plugin.SimplePlugin;
 import org.mineacademy.vfo.remain.Remain;
 import org.mineacademy.vfo.velocity.BungeeListener;
 import org.mineacademy.vfo.velocity.BungeeMessageType;
+import org.mineacademy.vfo.velocity.BungeeStatistics;
 
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
@@ -29,9 +27,14 @@ import com.velocitypowered.api.proxy.server.RegisteredServer;
 public final class OutgoingMessage extends Message {
 
 	/**
-	 * The pending queue to write the message
+	 * The sender UUID written in the header, we do not send it from the proxy
 	 */
-	private final List<Object> queue = new ArrayList<>();
+	private static final String EMPTY_SENDER_UID = new UUID(0, 0).toString();
+
+	/**
+	 * The message content written so far, without the header
+	 */
+	private final ByteArrayDataOutput body = ByteStreams.newDataOutput();
 
 	/**
 	 * Create a new outgoing message, see header of this class
@@ -58,7 +61,7 @@ public final class OutgoingMessage extends Message {
 	 * @param map
 	 */
 	public void write(ConfigSerializable map) {
-		this.write(map.serialize().toJson(), String.class);
+		this.writeUTF(map.serialize().toJson());
 	}
 
 	/**
@@ -67,7 +70,7 @@ public final class OutgoingMessage extends Message {
 	 * @param map
 	 */
 	public void writeMap(SerializedMap map) {
-		this.write(map.toJson(), String.class);
+		this.writeUTF(map.toJson());
 	}
 
 	/**
@@ -77,7 +80,7 @@ public final class OutgoingMessage extends Message {
 	 */
 	public void writeString(String... messages) {
 		for (final String message : messages)
-			this.write(message, String.class);
+			this.writeUTF(message);
 	}
 
 	/**
@@ -86,7 +89,8 @@ public final class OutgoingMessage extends Message {
 	 * @param bool
 	 */
 	public void writeBoolean(boolean bool) {
-		this.write(bool, Boolean.class);
+		this.moveHead(WireType.BOOLEAN);
+		this.body.writeBoolean(bool);
 	}
 
 	/**
@@ -95,7 +99,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeByte(byte number) {
-		this.write(number, Byte.class);
+		this.moveHead(WireType.BYTE);
+		this.body.writeByte(number);
 	}
 
 	/**
@@ -104,7 +109,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeDouble(double number) {
-		this.write(number, Double.class);
+		this.moveHead(WireType.DOUBLE);
+		this.body.writeDouble(number);
 	}
 
 	/**
@@ -113,7 +119,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeFloat(float number) {
-		this.write(number, Float.class);
+		this.moveHead(WireType.FLOAT);
+		this.body.writeFloat(number);
 	}
 
 	/**
@@ -122,7 +129,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeInt(int number) {
-		this.write(number, Integer.class);
+		this.moveHead(WireType.INT);
+		this.body.writeInt(number);
 	}
 
 	/**
@@ -131,7 +139,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeLong(long number) {
-		this.write(number, Long.class);
+		this.moveHead(WireType.LONG);
+		this.body.writeLong(number);
 	}
 
 	/**
@@ -140,7 +149,8 @@ public final class OutgoingMessage extends Message {
 	 * @param number
 	 */
 	public void writeShort(short number) {
-		this.write(number, Short.class);
+		this.moveHead(WireType.SHORT);
+		this.body.writeShort(number);
 	}
 
 	/**
@@ -149,29 +159,29 @@ public final class OutgoingMessage extends Message {
 	 * @param uuid
 	 */
 	public void writeUUID(UUID uuid) {
-		this.write(uuid, UUID.class);
+		Valid.checkNotNull(uuid, "Added object must not be null!");
+
+		this.writeUTF(uuid.toString());
 	}
 
 	/**
-	 * Write an object of the given type into the message
+	 * Write a string into the message
 	 * <p>
 	 * We move the head and ensure writing safety in accordance
 	 * to the {@link BungeeMessageType#getContent()} length and
 	 * data type at the given position
 	 *
-	 * @param object
-	 * @param typeOf
+	 * @param string
 	 */
-	private void write(Object object, Class<?> typeOf) {
-		Valid.checkNotNull(object, "Added object must not be null!");
+	private void writeUTF(String string) {
+		Valid.checkNotNull(string, "Added object must not be null!");
 
-		this.moveHead(typeOf);
-		this.queue.add(object);
+		this.moveHead(WireType.UTF);
+		this.body.writeUTF(string);
 	}
 
 	/**
-	 * Delegate write methods for the byte array data output
-	 * based on the queue
+	 * Return the message data with the header for the given server name
 	 *
 	 * @param serverName
 	 * @return
@@ -185,43 +195,27 @@ public final class OutgoingMessage extends Message {
 		// -----------------------------------------------------------------
 
 		out.writeUTF(this.getListener().getChannel());
-		out.writeUTF(UUID.fromString("00000000-0000-0000-0000-000000000000").toString());
+		out.writeUTF(EMPTY_SENDER_UID);
 		out.writeUTF(serverName);
 		out.writeUTF(this.getAction().name());
 
-		for (final Object object : this.queue)
-			if (object instanceof String)
-				out.writeUTF((String) object);
-
-			else if (object instanceof Boolean)
-				out.writeBoolean((Boolean) object);
-
-			else if (object instanceof Byte)
-				out.writeByte((Byte) object);
-
-			else if (object instanceof Double)
-				out.writeDouble((Double) object);
+		final byte[] content = this.body.toByteArray();
+		final int compressionThreshold = this.getListener().getCompressionThreshold();
 
-			else if (object instanceof Float)
-				out.writeFloat((Float) object);
+		if (compressionThreshold >= 0) {
+			final byte[] compressed = content.length > compressionThreshold ? MessageCompression.compress(content) : null;
 
-			else if (object instanceof Integer)
-				out.writeInt((Integer) object);
+			if (compressed != null && compressed.length < content.length) {
+				out.writeByte(MessageCompression.FLAG_DEFLATE);
+				out.write(compressed);
 
-			else if (object instanceof Long)
-				out.writeLong((Long) object);
-
-			else if (object instanceof Short)
-				out.writeShort((Short) object);
-
-			else if (object instanceof byte[])
-				out.write((byte[]) object);
+				return out.toByteArray();
+			}
 
-			else if (object instanceof UUID)
-				out.writeUTF(object.toString());
+			out.writeByte(MessageCompression.FLAG_NONE);
+		}
 
-			else
-				throw new FoException("Unsupported write of " + object.getClass().getSimpleName() + " to channel " + this.getChannel() + " with action " + this.getAction().toString());
+		out.write(content);
 
 		return out.toByteArray();
 	}
@@ -233,9 +227,18 @@ public final class OutgoingMessage extends Message {
 	 * @param info
 	 */
 	public void sendToServer(String fromServer, RegisteredServer info) {
+		final String serverName = info.getServerInfo().getName();
+		final BungeeStatistics.Entry statistics = BungeeStatistics.of(this.getListener(), this.getAction(), serverName);
+		final long lockRequested = System.nanoTime();
+
 		synchronized (BungeeListener.DEFAULT_CHANNEL) {
+			statistics.getLockWait().record(System.nanoTime() - lockRequested);
+
 			if (info.getPlayersConnected().isEmpty()) {
-				Debugger.debug("bungee", "NOT sending data on " + this.getChannel() + " channel from " + this.getAction() + " to " + info.getServerInfo().getName() + " server because it is empty.");
+				statistics.recordEmptyServer();
+
+				if (Debugger.isDebugged("bungee"))
+					Debugger.debug("bungee", "NOT sending data on " + this.getChannel() + " channel from " + this.getAction() + " to " + serverName + " server because it is empty.");
 
 				return;
 			}
@@ -243,13 +246,18 @@ public final class OutgoingMessage extends Message {
 			final byte[] data = this.toByteArray(fromServer);
 
 			if (data.length > 32_000) { // Safety margin
+				statistics.recordOversized();
+
 				Common.log("[outgoing-sendToServer] Outgoing bungee message was oversized, not sending. Max length: 32766 bytes, got " + data.length + " bytes.");
 
 				return;
 			}
 
 			info.sendPluginMessage(BungeeListener.DEFAULT_CHANNEL, data);
-			Debugger.debug("bungee", "Forwarding data on " + this.getChannel() + " channel from " + this.getAction() + " to " + info.getServerInfo().getName() + " server.");
+			statistics.recordOut(data.length);
+
+			if (Debugger.isDebugged("bungee"))
+				Debugger.debug("bungee", "Forwarding data on " + this.getChannel() + " channel from " + this.getAction() + " to " + serverName + " server.");
 		}
 	}
 
@@ -267,36 +275,65 @@ public final class OutgoingMessage extends Message {
 	 * @param ignoredServerName
 	 */
 	public void broadcastExcept(@Nullable String ignoredServerName) {
+		final long lockRequested = System.nanoTime();
+
 		synchronized (BungeeListener.DEFAULT_CHANNEL) {
+			final long lockWaited = System.nanoTime() - lockRequested;
+			final boolean debug = Debugger.isDebugged("bungee");
+
 			final String channel = this.getChannel();
 			final byte[] data = this.toByteArray("");
 
+			BungeeStatistics.of(this.getListener(), this.getAction(), BungeeStatistics.ANY).getLockWait().record(lockWaited);
+
 			if (data.length > 32_000) { // Safety margin
+				BungeeStatistics.of(this.getListener(), this.getAction(), BungeeStatistics.ANY).recordOversized();
+
 				Common.log("[outgoing-broadcastExcept] Outgoing message was oversized, not sending. Max length: 32766 bytes, got " + data.length + " bytes. Channel: " + this.getListener().getChannel()
-						+ ", action: " + this.getAction().name() + ", queue: " + queue);
+						+ ", action: " + this.getAction().name());
 
 				return;
 			}
 
 			for (final RegisteredServer otherServer : Remain.getServers()) {
+				final String serverName = otherServer.getServerInfo().getName();
+
 				if (otherServer.getPlayersConnected().isEmpty()) {
-					Debugger.debug("bungee", "NOT sending data on " + channel + " channel from " + this.getAction() + " to " + otherServer.getServerInfo().getName() + " server because it is empty.");
+					BungeeStatistics.of(this.getListener(), this.getAction(), serverName).recordEmptyServer();
+
+					if (debug)
+						Debugger.debug("bungee", "NOT sending data on " + channel + " channel from " + this.getAction() + " to " + serverName + " server because it is empty.");
 
 					continue;
 				}
 
-				if (ignoredServerName != null && otherServer.getServerInfo().getName().equalsIgnoreCase(ignoredServerName)) {
-					Debugger.debug("bungee", "NOT sending data on " + channel + " channel from " + this.getAction() + " to " + otherServer.getServerInfo().getName() + " server because it is ignored.");
+				if (ignoredServerName != null && serverName.equalsIgnoreCase(ignoredServerName)) {
+					if (debug)
+						Debugger.debug("bungee", "NOT sending data on " + channel + " channel from " + this.getAction() + " to " + serverName + " server because it is ignored.");
 
 					continue;
 				}
 
 				otherServer.sendPluginMessage(BungeeListener.DEFAULT_CHANNEL, data);
-				Debugger.debug("bungee", "Sending data on " + channel + " channel from " + this.getAction() + " to " + otherServer.getServerInfo().getName() + " server.");
+				BungeeStatistics.of(this.getListener(), this.getAction(), serverName).recordOut(data.length);
+
+				if (debug)
+					Debugger.debug("bungee", "Sending data on " + channel + " channel from " + this.getAction() + " to " + serverName + " server.");
 			}
 		}
 	}
 
+	/**
+	 * Broadcasts the message to all servers, only sending the latest message
+	 * with the same action and key within a short interval,
+	 * see {@link BungeeListener#broadcastCoalesced(String, OutgoingMessage)}
+	 *
+	 * @param key
+	 */
+	public void broadcastCoalesced(String key) {
+		this.getListener().broadcastCoalesced(key, this);
+	}
+
 	/**
 	 *
 	 * @return
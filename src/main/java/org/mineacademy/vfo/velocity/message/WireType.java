@@ -0,0 +1,97 @@
+package org.mineacademy.vfo.velocity.message;
+
+import java.util.UUID;
+
+import org.mineacademy.vfo.collection.SerializedMap;
+import org.mineacademy.vfo.exception.FoException;
+import org.mineacademy.vfo.model.ConfigSerializable;
+import org.mineacademy.vfo.velocity.BungeeMessageType;
+
+/**
+ * Represents how a value from {@link BungeeMessageType#getContent()}
+ * is encoded in the plugin message data.
+ */
+enum WireType {
+
+	/**
+	 * Strings, UUIDs, enums and JSON maps, all written as UTF
+	 */
+	UTF,
+
+	BOOLEAN,
+
+	BYTE,
+
+	DOUBLE,
+
+	FLOAT,
+
+	INT,
+
+	LONG,
+
+	SHORT,
+
+	/**
+	 * The raw rest of the message
+	 */
+	BYTES;
+
+	/**
+	 * Resolve how the given content type is written, both primitives and wrappers are supported
+	 *
+	 * @param type
+	 * @return
+	 */
+	static WireType of(Class<?> type) {
+		if (type == String.class || type == UUID.class || type == SerializedMap.class || type.isEnum() || ConfigSerializable.class.isAssignableFrom(type))
+			return UTF;
+
+		else if (type == Boolean.class || type == boolean.class)
+			return BOOLEAN;
+
+		else if (type == Byte.class || type == byte.class)
+			return BYTE;
+
+		else if (type == Double.class || type == double.class)
+			return DOUBLE;
+
+		else if (type == Float.class || type == float.class)
+			return FLOAT;
+
+		else if (type == Integer.class || type == int.class)
+			return INT;
+
+		else if (type == Long.class || type == long.class)
+			return LONG;
+
+		else if (type == Short.class || type == short.class)
+			return SHORT;
+
+		else if (type == byte[].class)
+			return BYTES;
+
+		throw new FoException("Unsupported message content type " + type.getSimpleName() + ", only primitive types, UUID, enums, SerializedMap and String are supported");
+	}
+
+	/**
+	 * Resolve the wire types for all content of the given action
+	 *
+	 * @param action
+	 * @return
+	 */
+	static WireType[] compile(BungeeMessageType action) {
+		final Class<?>[] content = action.getContent();
+		final WireType[] schema = new WireType[content.length];
+
+		for (int i = 0; i < content.length; i++)
+			try {
+				schema[i] = of(content[i]);
+
+			} catch (final FoException ex) {
+				throw new FoException("Invalid content at position " + i + " of action " + action.name() + ": " + ex.getMessage());
+			}
+
+		return schema;
+	}
+}